@@ -0,0 +1,8 @@
+-- Replicates everything the primary writes from now on, using GTID auto-positioning
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'mysql',
+    SOURCE_USER = 'root',
+    SOURCE_PASSWORD = 'rootpassword',
+    SOURCE_AUTO_POSITION = 1,
+    GET_SOURCE_PUBLIC_KEY = 1;
+START REPLICA;
@@ -0,0 +1,73 @@
+package com.synchrony.assignment.studentmanagement.benchmark;
+
+import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.mapper.StudentMapper;
+import com.synchrony.assignment.studentmanagement.model.Student;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data and wiring helpers shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Student student(long id) {
+        Student student = new Student();
+        student.setId(id);
+        student.setName("Student Name " + id);
+        student.setAge((int) (10 + id % 8));
+        student.setStudentClass((1 + id % 12) + "-" + (char) ('A' + id % 4));
+        student.setPhoneNumber(9_000_000_000L + id);
+        student.setCreatedAt(LocalDateTime.of(2024, 1, 1, 8, 0));
+        student.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 8, 0));
+        return student;
+    }
+
+    static StudentDto studentDto(long id) {
+        return StudentMapper.toDto(student(id));
+    }
+
+    static List<StudentDto> studentDtos(int size) {
+        List<StudentDto> students = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            students.add(studentDto(id));
+        }
+        return students;
+    }
+
+    static CreateStudent createStudent(long id) {
+        Student student = student(id);
+        return CreateStudent.builder()
+                .name(student.getName())
+                .age(student.getAge())
+                .studentClass(student.getStudentClass())
+                .phoneNumber(student.getPhoneNumber())
+                .build();
+    }
+
+    /**
+     * Sets a private (typically @Autowired or @Value) field, the way Spring would.
+     */
+    static void setField(Object target, String name, Object value) {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // Look in the superclass
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + name + " on " + target.getClass());
+    }
+}
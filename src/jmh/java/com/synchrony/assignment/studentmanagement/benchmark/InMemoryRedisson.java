@@ -0,0 +1,90 @@
+package com.synchrony.assignment.studentmanagement.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.redisson.api.RBucket;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for the parts of RedissonClient used by the bucket read paths.
+ *
+ * Values are stored encoded with the given codec, so that a cache hit pays the same
+ * serialization cost it would against a real Redis server, only without the network.
+ */
+final class InMemoryRedisson {
+
+    private final Codec codec;
+    private final Map<String, byte[]> store = new ConcurrentHashMap<>();
+    private final Map<String, RBucket<?>> buckets = new ConcurrentHashMap<>();
+
+    InMemoryRedisson(Codec codec) {
+        this.codec = codec;
+    }
+
+    RedissonClient client() {
+        RTopic topic = proxy(RTopic.class, (p, method, args) -> switch (method.getName()) {
+            case "addListener" -> 0;
+            case "publish" -> 0L;
+            default -> throw unsupported(method.getName());
+        });
+        return proxy(RedissonClient.class, (p, method, args) -> switch (method.getName()) {
+            case "getBucket" -> buckets.computeIfAbsent((String) args[0], this::bucket);
+            case "getTopic" -> topic;
+            default -> throw unsupported(method.getName());
+        });
+    }
+
+    private RBucket<?> bucket(String key) {
+        return proxy(RBucket.class, (p, method, args) -> switch (method.getName()) {
+            case "get" -> decode(store.get(key));
+            case "set" -> {
+                store.put(key, encode(args[0]));
+                yield null;
+            }
+            case "isExists" -> store.containsKey(key);
+            case "delete" -> store.remove(key) != null;
+            default -> throw unsupported(method.getName());
+        });
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            ByteBuf buf = codec.getValueEncoder().encode(value);
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            buf.release();
+            return bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return codec.getValueDecoder().decode(Unpooled.wrappedBuffer(bytes), null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    static UnsupportedOperationException unsupported(String method) {
+        return new UnsupportedOperationException(method + " is not supported by the benchmark stand-in");
+    }
+}
@@ -0,0 +1,87 @@
+package com.synchrony.assignment.studentmanagement.benchmark;
+
+import com.synchrony.assignment.studentmanagement.config.StudentDtoCodec;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.Kryo5Codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of cached values with the default (Kryo5) and the compact codec.
+ * A cached list is stored element by element, so a list of N students costs N element encodings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisCodecBenchmark {
+
+    @Param({"default", "compact"})
+    private String codecName;
+
+    @Param({"1", "20", "100"})
+    private int listSize;
+
+    private Codec codec;
+    private List<StudentDto> students;
+    private List<ByteBuf> encoded;
+
+    /**
+     * Reports the encoded size of the list next to the timings.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        codec = "compact".equals(codecName) ? new StudentDtoCodec(new Kryo5Codec()) : new Kryo5Codec();
+        students = BenchmarkData.studentDtos(listSize);
+        encoded = new ArrayList<>(listSize);
+        for (StudentDto student : students) {
+            encoded.add(codec.getValueEncoder().encode(student));
+        }
+    }
+
+    @Benchmark
+    public void encodeList(Blackhole blackhole, EncodedSize size) throws IOException {
+        long bytes = 0;
+        for (StudentDto student : students) {
+            ByteBuf buf = codec.getValueEncoder().encode(student);
+            bytes += buf.readableBytes();
+            buf.release();
+        }
+        size.bytes = bytes;
+        blackhole.consume(bytes);
+    }
+
+    @Benchmark
+    public void decodeList(Blackhole blackhole) throws IOException {
+        for (ByteBuf buf : encoded) {
+            blackhole.consume(codec.getValueDecoder().decode(buf.duplicate(), null));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.synchrony.assignment.studentmanagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.synchrony.assignment.studentmanagement.dto.response.ResponseWrapper;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization of the response body returned by the list endpoints, in each format the
+ * controller can negotiate, with and without the gzip compression applied by the server.
+ *
+ * The payload size of every combination is printed when its trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1", "20", "100", "1000"})
+    private int listSize;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectWriter writer;
+    private ResponseWrapper<List<StudentDto>> response;
+
+    @Setup
+    public void setUp() throws IOException {
+        writer = new ObjectMapper(factory(format)).writer();
+        response = new ResponseWrapper<>(true, BenchmarkData.studentDtos(listSize), "No error Recorded");
+        System.out.printf("%n%s, %d students: %d bytes, %d bytes gzipped%n",
+                format, listSize, serialize().length, serializeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, response);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileFactory();
+            case "cbor":
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.synchrony.assignment.studentmanagement.benchmark;
+
+import com.synchrony.assignment.studentmanagement.config.StudentDtoCodec;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.facade.impl.StudentFacadeImpl;
+import com.synchrony.assignment.studentmanagement.model.Student;
+import com.synchrony.assignment.studentmanagement.repository.StudentRepository;
+import com.synchrony.assignment.studentmanagement.service.RedisService;
+import com.synchrony.assignment.studentmanagement.service.StudentIdFilter;
+import com.synchrony.assignment.studentmanagement.service.StudentService;
+import com.synchrony.assignment.studentmanagement.service.StudentWriteBehindService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.Kryo5Codec;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit and miss paths of StudentFacadeImpl.getStudentById against in-memory stand-ins for
+ * RedissonClient and StudentRepository, so only the application-side cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentFacadeBenchmark {
+
+    private static final long HIT_ID = 1L;
+    private static final long MISS_ID = 2L;
+
+    @Param({"default", "compact"})
+    private String codecName;
+
+    @Param({"true", "false"})
+    private boolean nearCache;
+
+    private StudentFacadeImpl facade;
+    private RedisService<StudentDto> redisService;
+
+    @Setup
+    public void setUp() {
+        Codec codec = "compact".equals(codecName) ? new StudentDtoCodec(new Kryo5Codec()) : new Kryo5Codec();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        redisService = new RedisService<>();
+        BenchmarkData.setField(redisService, "redissonClient", new InMemoryRedisson(codec).client());
+        BenchmarkData.setField(redisService, "ttl", 300L);
+        BenchmarkData.setField(redisService, "nearCacheEnabled", nearCache);
+        BenchmarkData.setField(redisService, "nearCacheMaxSize", 10_000);
+        BenchmarkData.setField(redisService, "nearCacheTtl", 30L);
+        BenchmarkData.setField(redisService, "meterRegistry", meterRegistry);
+        redisService.init();
+
+        Map<Long, Student> rows = new ConcurrentHashMap<>();
+        rows.put(HIT_ID, BenchmarkData.student(HIT_ID));
+        rows.put(MISS_ID, BenchmarkData.student(MISS_ID));
+        StudentRepository repository = InMemoryRedisson.proxy(StudentRepository.class, (p, method, args) -> switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(rows.get((Long) args[0]));
+            default -> throw InMemoryRedisson.unsupported(method.getName());
+        });
+        StudentService studentService = new StudentService();
+        BenchmarkData.setField(studentService, "studentRepository", repository);
+        BenchmarkData.setField(studentService, "meterRegistry", meterRegistry);
+
+        facade = new StudentFacadeImpl();
+        BenchmarkData.setField(facade, "studentService", studentService);
+        BenchmarkData.setField(facade, "redisGenericService", redisService);
+        BenchmarkData.setField(facade, "studentWriteBehindService", new StudentWriteBehindService());
+        BenchmarkData.setField(facade, "studentIdFilter", new StudentIdFilter());
+        BenchmarkData.setField(facade, "meterRegistry", meterRegistry);
+
+        facade.getStudentById(HIT_ID);
+    }
+
+    @Benchmark
+    public StudentDto hit() {
+        return facade.getStudentById(HIT_ID);
+    }
+
+    /**
+     * Drops the cached entry first, so every invocation takes the miss path (load, map and cache write).
+     */
+    @Benchmark
+    public StudentDto miss() {
+        redisService.deleteBucket("student_{" + MISS_ID + "}");
+        return facade.getStudentById(MISS_ID);
+    }
+}
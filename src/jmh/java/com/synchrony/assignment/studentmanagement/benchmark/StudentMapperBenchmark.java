@@ -0,0 +1,51 @@
+package com.synchrony.assignment.studentmanagement.benchmark;
+
+import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.mapper.StudentMapper;
+import com.synchrony.assignment.studentmanagement.model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentMapperBenchmark {
+
+    private Student student;
+    private CreateStudent createStudent;
+
+    @Setup
+    public void setUp() {
+        student = BenchmarkData.student(42L);
+        createStudent = BenchmarkData.createStudent(42L);
+    }
+
+    @Benchmark
+    public StudentDto toDto() {
+        return StudentMapper.toDto(student);
+    }
+
+    @Benchmark
+    public Student toEntity() {
+        return StudentMapper.toEntity(createStudent);
+    }
+
+    @Benchmark
+    public StudentDto fromRequest() {
+        return StudentMapper.fromRequest(createStudent, 42L);
+    }
+}
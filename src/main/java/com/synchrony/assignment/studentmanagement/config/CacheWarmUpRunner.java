@@ -0,0 +1,70 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.synchrony.assignment.studentmanagement.facade.StudentFacade;
+import com.synchrony.assignment.studentmanagement.service.StudentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the most recently updated students into the Redis cache when the application starts.
+ *
+ * Application runners complete before Spring Boot switches the readiness state to
+ * ACCEPTING_TRAFFIC, so the readiness probe only reports ready once the warm-up has finished.
+ * The hot set is split into chunks that are loaded in parallel, each with one IN query and one
+ * pipelined cache write. A failed warm-up is logged and does not prevent the application from starting.
+ */
+@Component
+@Slf4j
+public class CacheWarmUpRunner implements ApplicationRunner {
+
+    @Autowired
+    private StudentFacade studentFacade;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Value("${student.warm-up.enabled:true}")
+    private boolean enabled;
+
+    @Value("${student.warm-up.size:10000}")
+    private int size;
+
+    @Value("${student.warm-up.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${student.warm-up.parallelism:4}")
+    private int parallelism;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || size <= 0) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(parallelism, 1));
+        try {
+            List<Long> ids = studentService.getRecentlyUpdatedIds(size);
+            List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                chunks.add(CompletableFuture.supplyAsync(() -> studentFacade.warmUpCache(chunk), executor));
+            }
+            int loaded = chunks.stream().mapToInt(CompletableFuture::join).sum();
+            log.info("Cache warm-up loaded {} students in {} ms", loaded, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("Cache warm-up failed, continuing with a cold cache", e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
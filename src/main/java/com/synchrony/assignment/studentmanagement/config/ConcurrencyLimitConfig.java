@@ -0,0 +1,34 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.synchrony.assignment.studentmanagement.service.ConcurrencyLimited;
+import com.synchrony.assignment.studentmanagement.service.DatabaseConcurrencyLimiter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Applies the DatabaseConcurrencyLimiter to the methods annotated with ConcurrencyLimited.
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    // Static and resolving the limiter on first use, as advisors are created before regular beans
+    // such as the MeterRegistry are ready to be injected
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor concurrencyLimitAdvisor(ObjectProvider<DatabaseConcurrencyLimiter> limiter) {
+        MethodInterceptor interceptor = (invocation) -> limiter.getObject().invoke(invocation);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(ConcurrencyLimited.class),
+                interceptor);
+        // Runs outside the transaction interceptor, which has the lowest precedence
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,65 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sets up the primary database pool from "spring.datasource" and one pool per read replica from
+ * "student.datasource.replicas", behind a data source that routes read-only transactions to the
+ * replicas. Without replicas every query goes to the primary, as before.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, ReplicaDataSourceProperties properties,
+                                                        DataSourceProperties primaryProperties, MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = properties.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+            HikariConfig config = replica.getHikari();
+            config.setPoolName(name);
+            config.setJdbcUrl(replica.getUrl());
+            config.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryProperties.getUsername());
+            config.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryProperties.getPassword());
+            config.setDriverClassName(primaryProperties.getDriverClassName());
+            config.setReadOnly(true);
+            // A replica that is down at startup must not prevent the application from starting
+            config.setInitializationFailTimeout(-1);
+            replicas.put(name, new HikariDataSource(config));
+        }
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primaryDataSource, replicas);
+        routingDataSource.checkReplicas();
+        routingDataSource.startHealthChecks(properties.getHealthCheckIntervalMs());
+        meterRegistry.gauge("student.datasource.replicas.healthy", routingDataSource, ReadWriteRoutingDataSource::getHealthyReplicaCount);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
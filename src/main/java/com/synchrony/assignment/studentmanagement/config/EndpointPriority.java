@@ -0,0 +1,18 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.synchrony.assignment.studentmanagement.service.RequestPriority;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the priority with which the database work of an endpoint is admitted by the concurrency
+ * limiter. Endpoints without this annotation run with HIGH priority.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EndpointPriority {
+    RequestPriority value();
+}
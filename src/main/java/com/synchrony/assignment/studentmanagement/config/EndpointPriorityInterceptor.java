@@ -0,0 +1,34 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.synchrony.assignment.studentmanagement.service.RequestPriority;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Applies the EndpointPriority of the handler method to the request thread.
+ * Asynchronous handlers carry the priority over to the threads that complete them.
+ */
+public class EndpointPriorityInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            EndpointPriority priority = method.getMethodAnnotation(EndpointPriority.class);
+            RequestPriority.set(priority != null ? priority.value() : RequestPriority.HIGH);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestPriority.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // afterCompletion only runs on the dispatch that completes an asynchronous request
+        RequestPriority.clear();
+    }
+}
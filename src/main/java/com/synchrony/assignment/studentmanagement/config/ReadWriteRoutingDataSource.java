@@ -0,0 +1,154 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Routes read-only transactions to a healthy read replica and everything else to the primary.
+ *
+ * Replicas are picked round-robin among those that passed their last health check. When no
+ * replica is healthy, or when the current request must read its own writes, reads go to the
+ * primary as well, and so do reads that fill the shared cache, see onPrimary.
+ *
+ * The routing decision depends on the transaction being marked read-only, so this data source
+ * must be wrapped in a LazyConnectionDataSourceProxy for the connection to be fetched only once
+ * the transaction attributes are known.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = ThreadLocal.withInitial(() -> false);
+
+    private final Map<String, DataSource> replicas;
+
+    private final List<String> replicaNames;
+
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private ScheduledExecutorService healthChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.replicas = replicas;
+        this.replicaNames = List.copyOf(replicas.keySet());
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        replicaNames.forEach((name) -> healthy.put(name, true));
+    }
+
+    /**
+     * Makes every query of the current thread go to the primary, until reset.
+     */
+    public static void setPrimaryOnly(boolean primaryOnly) {
+        if (primaryOnly) {
+            PRIMARY_ONLY.set(true);
+        } else {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    public static boolean isPrimaryOnly() {
+        return PRIMARY_ONLY.get();
+    }
+
+    /**
+     * Runs a call with every query of the current thread going to the primary, and restores the
+     * previous routing afterwards. Used for reads whose result is written to the shared cache,
+     * which must not hold data from a lagging replica.
+     */
+    public static <T> T onPrimary(Supplier<T> call) {
+        boolean previous = isPrimaryOnly();
+        setPrimaryOnly(true);
+        try {
+            return call.get();
+        } finally {
+            setPrimaryOnly(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaNames.isEmpty() || PRIMARY_ONLY.get() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        for (int attempt = 0; attempt < replicaNames.size(); attempt++) {
+            String name = replicaNames.get(Math.floorMod(next.getAndIncrement(), replicaNames.size()));
+            if (healthy.get(name)) {
+                return name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Validates a connection of every replica and takes replicas that fail out of the rotation
+     * until they pass again.
+     */
+    public void checkReplicas() {
+        for (String name : replicaNames) {
+            boolean valid;
+            try (Connection connection = replicas.get(name).getConnection()) {
+                valid = connection.isValid(1);
+            } catch (SQLException e) {
+                valid = false;
+            }
+            Boolean previous = healthy.put(name, valid);
+            if (previous != null && previous != valid) {
+                log.warn("Read replica {} is now {}", name, valid ? "healthy" : "unhealthy, reads fall back to the primary");
+            }
+        }
+    }
+
+    public long getHealthyReplicaCount() {
+        return healthy.values().stream().filter(Boolean::booleanValue).count();
+    }
+
+    public void startHealthChecks(long intervalMillis) {
+        if (replicaNames.isEmpty()) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    log.warn("Closing read replica pool failed", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Gives every client read-your-writes consistency on top of asynchronous replicas.
+ *
+ * A request that may write marks its client with a cookie holding the time until which the
+ * replicas may still lag behind that write. Until then, every request of that client reads from
+ * the primary instead of a replica.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final String COOKIE_NAME = "student_rw_until";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Autowired
+    private ReplicaDataSourceProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean isWrite = !READ_METHODS.contains(request.getMethod());
+        if (isWrite) {
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now + properties.getReadYourWritesMs()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(properties.getReadYourWritesMs() / 1000, 1));
+            response.addCookie(cookie);
+        }
+        ReadWriteRoutingDataSource.setPrimaryOnly(isWrite || readsOwnWrites(request, now));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.setPrimaryOnly(false);
+        }
+    }
+
+    private boolean readsOwnWrites(HttpServletRequest request, long now) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import lombok.Data;
+import org.redisson.config.ReadMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis deployment the Redisson client connects to, bound from "redis".
+ *
+ * The mode selects how the addresses are used:
+ * - single: one server, the first address
+ * - sentinel: the addresses are sentinels monitoring the master named sentinelMaster
+ * - master-replica: the first address is the master, the others are its replicas
+ * - cluster: the addresses are seed nodes of a Redis Cluster
+ * With every mode except single, readMode SLAVE sends reads to the replicas.
+ */
+@Data
+@ConfigurationProperties(prefix = "redis")
+public class RedisTopologyProperties {
+
+    private String mode = "single";
+
+    private List<String> addresses = new ArrayList<>(List.of("redis://localhost:6379"));
+
+    private String username;
+
+    private String password;
+
+    private int database = 0;
+
+    private String sentinelMaster = "mymaster";
+
+    private ReadMode readMode = ReadMode.MASTER;
+
+    private Pool pool = new Pool();
+
+    private Timeouts timeouts = new Timeouts();
+
+    @Data
+    public static class Pool {
+        // Per master node, or for the single server
+        private int size = 64;
+        private int minIdle = 24;
+        // Per replica node
+        private int replicaSize = 64;
+        private int replicaMinIdle = 24;
+        private int subscriptionSize = 50;
+    }
+
+    @Data
+    public static class Timeouts {
+        private int connectMs = 10000;
+        private int commandMs = 3000;
+        private int idleConnectionMs = 10000;
+        private int retryAttempts = 3;
+        private int retryIntervalMs = 1500;
+        private int pingIntervalMs = 30000;
+    }
+}
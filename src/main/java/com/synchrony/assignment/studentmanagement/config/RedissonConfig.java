@@ -1,18 +1,102 @@
 package com.synchrony.assignment.studentmanagement.config;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.codec.Kryo5Codec;
+import org.redisson.config.BaseConfig;
+import org.redisson.config.BaseMasterSlaveServersConfig;
+import org.redisson.config.ClusterServersConfig;
 import org.redisson.config.Config;
+import org.redisson.config.MasterSlaveServersConfig;
+import org.redisson.config.SentinelServersConfig;
+import org.redisson.config.SingleServerConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
+@EnableConfigurationProperties(RedisTopologyProperties.class)
 public class RedissonConfig {
 
+    private static final String COMPACT_CODEC = "compact";
+
+    @Value("${redis.codec:default}")
+    private String codec;
+
+    @Autowired
+    private RedisTopologyProperties properties;
+
     @Bean
     public RedissonClient redissonClient() {
         Config config = new Config();
-        config.useSingleServer()
-                .setAddress("redis://localhost:6379");
+        List<String> addresses = properties.getAddresses();
+        RedisTopologyProperties.Pool pool = properties.getPool();
+        switch (properties.getMode()) {
+            case "single" -> {
+                SingleServerConfig server = config.useSingleServer()
+                        .setAddress(addresses.get(0))
+                        .setDatabase(properties.getDatabase())
+                        .setConnectionPoolSize(pool.getSize())
+                        .setConnectionMinimumIdleSize(pool.getMinIdle())
+                        .setSubscriptionConnectionPoolSize(pool.getSubscriptionSize());
+                applyCommon(server);
+            }
+            case "sentinel" -> {
+                SentinelServersConfig servers = config.useSentinelServers()
+                        .setMasterName(properties.getSentinelMaster())
+                        .addSentinelAddress(addresses.toArray(new String[0]))
+                        .setDatabase(properties.getDatabase());
+                applyMasterReplica(servers);
+            }
+            case "master-replica" -> {
+                MasterSlaveServersConfig servers = config.useMasterSlaveServers()
+                        .setMasterAddress(addresses.get(0))
+                        .setDatabase(properties.getDatabase());
+                addresses.stream().skip(1).forEach(servers::addSlaveAddress);
+                applyMasterReplica(servers);
+            }
+            case "cluster" -> {
+                ClusterServersConfig servers = config.useClusterServers()
+                        .addNodeAddress(addresses.toArray(new String[0]));
+                applyMasterReplica(servers);
+            }
+            default -> throw new IllegalStateException("Unknown redis.mode " + properties.getMode()
+                    + ", expected single, sentinel, master-replica or cluster");
+        }
+        if (COMPACT_CODEC.equalsIgnoreCase(codec)) {
+            // Student values are stored in a compact binary form, everything else still uses the default codec
+            config.setCodec(new StudentDtoCodec(new Kryo5Codec()));
+        }
         return Redisson.create(config);
     }
+
+    private void applyMasterReplica(BaseMasterSlaveServersConfig<?> servers) {
+        RedisTopologyProperties.Pool pool = properties.getPool();
+        servers.setReadMode(properties.getReadMode())
+                .setMasterConnectionPoolSize(pool.getSize())
+                .setMasterConnectionMinimumIdleSize(pool.getMinIdle())
+                .setSlaveConnectionPoolSize(pool.getReplicaSize())
+                .setSlaveConnectionMinimumIdleSize(pool.getReplicaMinIdle())
+                .setSubscriptionConnectionPoolSize(pool.getSubscriptionSize());
+        applyCommon(servers);
+    }
+
+    private void applyCommon(BaseConfig<?> server) {
+        RedisTopologyProperties.Timeouts timeouts = properties.getTimeouts();
+        server.setConnectTimeout(timeouts.getConnectMs())
+                .setTimeout(timeouts.getCommandMs())
+                .setIdleConnectionTimeout(timeouts.getIdleConnectionMs())
+                .setRetryAttempts(timeouts.getRetryAttempts())
+                .setRetryInterval(timeouts.getRetryIntervalMs())
+                .setPingConnectionInterval(timeouts.getPingIntervalMs());
+        if (properties.getUsername() != null) {
+            server.setUsername(properties.getUsername());
+        }
+        if (properties.getPassword() != null && !properties.getPassword().isEmpty()) {
+            server.setPassword(properties.getPassword());
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas of the student database, bound from "student.datasource".
+ * Every replica has its own Hikari pool, configured with the usual Hikari property names
+ * under "hikari" (e.g. maximum-pool-size, connection-timeout).
+ */
+@Data
+@ConfigurationProperties(prefix = "student.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // How long after a write the same client keeps reading from the primary
+    private long readYourWritesMs = 5000;
+
+    private long healthCheckIntervalMs = 5000;
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private HikariConfig hikari = new HikariConfig();
+    }
+}
@@ -0,0 +1,208 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary Redisson codec for StudentDto values, including the elements of cached lists.
+ *
+ * A StudentDto is written as a two byte marker and a format version, followed by tagged fields.
+ * Every field starts with a varint key of (field number << 3 | wire type), integers are zigzag
+ * varints and strings are length-prefixed UTF-8. Null fields are left out. Unknown field numbers
+ * are skipped when reading, so fields can be added in later versions without breaking readers.
+ *
+ * The age was a string before the column became numeric. Its field number is unchanged, and a
+ * length-delimited age written before that change is still parsed from its string form.
+ *
+ * Any other value, and any value that was written without the marker (for example by the
+ * previous codec before a rollout), is handed to the fallback codec.
+ */
+public class StudentDtoCodec extends BaseCodec {
+
+    private static final int MARKER_0 = 0xC5;
+    private static final int MARKER_1 = 0x7D;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+    private static final int WIRE_FIXED32 = 5;
+
+    private static final int FIELD_ID = 1;
+    private static final int FIELD_NAME = 2;
+    private static final int FIELD_AGE = 3;
+    private static final int FIELD_STUDENT_CLASS = 4;
+    private static final int FIELD_PHONE_NUMBER = 5;
+    // Field 6 held phone numbers over 63 bits, which the numeric column cannot store, it is skipped
+    private static final int FIELD_VERSION = 7;
+
+    private final Codec fallback;
+
+    private final Encoder encoder = new Encoder() {
+        @Override
+        public ByteBuf encode(Object in) throws IOException {
+            if (!(in instanceof StudentDto student)) {
+                return fallback.getValueEncoder().encode(in);
+            }
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer(64);
+            try {
+                out.writeByte(MARKER_0);
+                out.writeByte(MARKER_1);
+                out.writeByte(FORMAT_VERSION);
+                writeStudent(out, student);
+                return out;
+            } catch (RuntimeException e) {
+                out.release();
+                throw e;
+            }
+        }
+    };
+
+    private final Decoder<Object> decoder = new Decoder<>() {
+        @Override
+        public Object decode(ByteBuf buf, State state) throws IOException {
+            int start = buf.readerIndex();
+            if (buf.readableBytes() < 3 || buf.getUnsignedByte(start) != MARKER_0 || buf.getUnsignedByte(start + 1) != MARKER_1) {
+                return fallback.getValueDecoder().decode(buf, state);
+            }
+            buf.skipBytes(3);
+            return readStudent(buf);
+        }
+    };
+
+    public StudentDtoCodec(Codec fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return fallback.getClassLoader();
+    }
+
+    private static void writeStudent(ByteBuf out, StudentDto student) {
+        if (student.getId() != null) {
+            writeKey(out, FIELD_ID, WIRE_VARINT);
+            writeVarint(out, zigzag(student.getId()));
+        }
+        writeString(out, FIELD_NAME, student.getName());
+        if (student.getAge() != null) {
+            writeKey(out, FIELD_AGE, WIRE_VARINT);
+            writeVarint(out, zigzag(student.getAge()));
+        }
+        writeString(out, FIELD_STUDENT_CLASS, student.getStudentClass());
+        if (student.getPhoneNumber() != null) {
+            writeKey(out, FIELD_PHONE_NUMBER, WIRE_VARINT);
+            writeVarint(out, zigzag(student.getPhoneNumber()));
+        }
+        if (student.getVersion() != null) {
+            writeKey(out, FIELD_VERSION, WIRE_VARINT);
+            writeVarint(out, zigzag(student.getVersion()));
+        }
+    }
+
+    private static StudentDto readStudent(ByteBuf in) throws IOException {
+        StudentDto student = new StudentDto();
+        while (in.isReadable()) {
+            long key = readVarint(in);
+            int field = (int) (key >>> 3);
+            int wireType = (int) (key & 0x7);
+            switch (field) {
+                case FIELD_ID -> student.setId(unzigzag(readVarint(in)));
+                case FIELD_NAME -> student.setName(readString(in));
+                case FIELD_AGE -> student.setAge(wireType == WIRE_LENGTH_DELIMITED
+                        ? parseLegacyAge(readString(in)) : (int) unzigzag(readVarint(in)));
+                case FIELD_STUDENT_CLASS -> student.setStudentClass(readString(in));
+                case FIELD_PHONE_NUMBER -> student.setPhoneNumber(unzigzag(readVarint(in)));
+                case FIELD_VERSION -> student.setVersion(unzigzag(readVarint(in)));
+                default -> skipField(in, wireType);
+            }
+        }
+        return student;
+    }
+
+    private static Integer parseLegacyAge(String age) {
+        try {
+            return Integer.valueOf(age.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void skipField(ByteBuf in, int wireType) throws IOException {
+        switch (wireType) {
+            case WIRE_VARINT -> readVarint(in);
+            case WIRE_FIXED64 -> in.skipBytes(8);
+            case WIRE_LENGTH_DELIMITED -> in.skipBytes((int) readVarint(in));
+            case WIRE_FIXED32 -> in.skipBytes(4);
+            default -> throw new IOException("Unknown wire type " + wireType);
+        }
+    }
+
+    private static void writeString(ByteBuf out, int field, String value) {
+        if (value == null) {
+            return;
+        }
+        writeKey(out, field, WIRE_LENGTH_DELIMITED);
+        writeVarint(out, ByteBufUtil.utf8Bytes(value));
+        ByteBufUtil.writeUtf8(out, value);
+    }
+
+    private static String readString(ByteBuf in) throws IOException {
+        int length = (int) readVarint(in);
+        String value = in.toString(in.readerIndex(), length, StandardCharsets.UTF_8);
+        in.skipBytes(length);
+        return value;
+    }
+
+    private static void writeKey(ByteBuf out, int field, int wireType) {
+        writeVarint(out, ((long) field << 3) | wireType);
+    }
+
+    private static void writeVarint(ByteBuf out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(ByteBuf in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
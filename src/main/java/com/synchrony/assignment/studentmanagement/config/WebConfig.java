@@ -1,8 +1,14 @@
 package com.synchrony.assignment.studentmanagement.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -19,7 +25,32 @@ public class WebConfig {
                         .allowedHeaders("*") // Allow all headers
                         .allowCredentials(true); // Allow cookies or authorization headers
             }
+
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new EndpointPriorityInterceptor());
+            }
         };
     }
-}
 
+    /**
+     * Binary alternative to JSON for clients that send "Accept: application/x-jackson-smile".
+     * Spring Boot puts converter beans right in front of the Spring MVC default converter of the
+     * same type, so this one is picked instead of the default, and both come after the JSON
+     * converter, so clients that accept any type keep getting JSON. The mapper is built from its
+     * own copy of the Spring Boot builder prototype, so it has the same modules and settings as
+     * the JSON mapper, which the default converter does not.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Same as smileHttpMessageConverter, for clients that send "Accept: application/cbor".
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
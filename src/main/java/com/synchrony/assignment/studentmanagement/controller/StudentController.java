@@ -1,14 +1,30 @@
 package com.synchrony.assignment.studentmanagement.controller;
 
+import com.synchrony.assignment.studentmanagement.config.EndpointPriority;
 import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.request.ExportFormat;
+import com.synchrony.assignment.studentmanagement.dto.response.BulkCreateResult;
 import com.synchrony.assignment.studentmanagement.dto.response.ResponseWrapper;
 import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentLookupResult;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentPage;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentStats;
+import com.synchrony.assignment.studentmanagement.facade.StudentAsyncFacade;
 import com.synchrony.assignment.studentmanagement.facade.StudentFacade;
+import com.synchrony.assignment.studentmanagement.mapper.ETagMapper;
 import com.synchrony.assignment.studentmanagement.model.Student;
+import com.synchrony.assignment.studentmanagement.service.RequestPriority;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 @RestController
@@ -20,6 +36,9 @@ public class StudentController {
     @Autowired
     private StudentFacade studentFacade;
 
+    @Autowired
+    private StudentAsyncFacade studentAsyncFacade;
+
     /**
      * Adds a new student to the system.
      * 
@@ -33,8 +52,27 @@ public class StudentController {
      *         - An error message (which is set to a default "No error Recorded" in this case)
      */
     @PostMapping
-    public ResponseWrapper<Student> addStudent(@RequestBody CreateStudent createStudent) {
-        return new ResponseWrapper<>(true, studentFacade.addStudent(createStudent), NO_ERROR_MSG);
+    public CompletableFuture<ResponseWrapper<Student>> addStudent(@RequestBody CreateStudent createStudent) {
+        return studentAsyncFacade.addStudent(createStudent).thenApply((student) -> new ResponseWrapper<>(true, student, NO_ERROR_MSG));
+    }
+
+    /**
+     * Adds many students to the system in one call.
+     * 
+     * This endpoint accepts either a JSON array of students or newline-delimited JSON (one student
+     * per line) and streams it, so very large enrollment loads do not have to fit in memory. Rows are
+     * stored with batched inserts and a failing row does not abort the rest of the load.
+     * 
+     * @param students The raw request body holding the CreateStudent rows to add.
+     * @return ResponseWrapper<BulkCreateResult> A wrapper object containing:
+     *         - A boolean indicating the success of the operation (true in this case)
+     *         - A BulkCreateResult with the received, created and failed counts and per-row failures
+     *         - An error message (which is set to a default "No error Recorded" in this case)
+     */
+    @EndpointPriority(RequestPriority.LOW)
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseWrapper<BulkCreateResult> addStudents(InputStream students) {
+        return new ResponseWrapper<>(true, studentFacade.addStudents(students), NO_ERROR_MSG);
     }
 
     /**
@@ -51,8 +89,55 @@ public class StudentController {
      *         - An error message (which is set to a default "No error Recorded" in this case)
      */
     @GetMapping("/{name}")
-    public ResponseWrapper<List<StudentDto>> getStudentByName(@PathVariable String name) {
-        return new ResponseWrapper<>(true, studentFacade.getStudentByName(name), NO_ERROR_MSG);
+    public CompletableFuture<ResponseWrapper<List<StudentDto>>> getStudentByName(@PathVariable String name) {
+        return studentAsyncFacade.getStudentByName(name).thenApply((students) -> new ResponseWrapper<>(true, students, NO_ERROR_MSG));
+    }
+
+    /**
+     * Retrieves a student by their ID.
+     * 
+     * This endpoint returns the student's information together with a strong ETag holding the
+     * version of the student. A client that sends that ETag back in an If-None-Match header gets
+     * an empty 304 Not Modified response as long as the student has not changed.
+     * 
+     * The If-None-Match header is evaluated by Spring MVC against the ETag of the returned entity.
+     * 
+     * @param id The unique identifier of the student. This is a path variable
+     *           and should be provided as part of the URL.
+     * @return ResponseWrapper<StudentDto> A wrapper object containing:
+     *         - A boolean indicating the success of the operation (true in this case)
+     *         - A StudentDto object with the student's information
+     *         - An error message (which is set to a default "No error Recorded" in this case)
+     *         or no body at all when the student has not been modified.
+     */
+    @GetMapping("/id/{id}")
+    public CompletableFuture<ResponseEntity<ResponseWrapper<StudentDto>>> getStudentById(@PathVariable Long id) {
+        return studentAsyncFacade.getStudentById(id).thenApply((student) -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            String eTag = ETagMapper.toETag(student.getVersion());
+            if (eTag != null) {
+                response.eTag(eTag);
+            }
+            return response.body(new ResponseWrapper<>(true, student, NO_ERROR_MSG));
+        });
+    }
+
+    /**
+     * Retrieves many students by their IDs in a single call.
+     * 
+     * This endpoint resolves every requested ID with one multi-key cache lookup and, for the IDs
+     * that are not cached, one database query. It is meant to replace issuing one lookup per ID.
+     * 
+     * @param ids The list of student IDs to look up, provided in the request body.
+     * @return ResponseWrapper<List<StudentLookupResult>> A wrapper object containing:
+     *         - A boolean indicating the success of the operation (true in this case)
+     *         - One StudentLookupResult per requested ID, in request order, with found set to
+     *           false for IDs that do not exist
+     *         - An error message (which is set to a default "No error Recorded" in this case)
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseWrapper<List<StudentLookupResult>>> getStudentsByIds(@RequestBody List<Long> ids) {
+        return studentAsyncFacade.getStudentsByIds(ids).thenApply((results) -> new ResponseWrapper<>(true, results, NO_ERROR_MSG));
     }
 
     /**
@@ -68,27 +153,35 @@ public class StudentController {
      *         - An error message (which is set to a default "No error Recorded" in this case)
      */
     @DeleteMapping("/{id}")
-    public ResponseWrapper<Boolean> deleteStudent(@PathVariable Long id) {
-        return new ResponseWrapper<>(true, studentFacade.deleteStudent(id), NO_ERROR_MSG);
+    public CompletableFuture<ResponseWrapper<Boolean>> deleteStudent(@PathVariable Long id) {
+        return studentAsyncFacade.deleteStudent(id).thenApply((isDeleted) -> new ResponseWrapper<>(true, isDeleted, NO_ERROR_MSG));
     }
 
     /**
      * Updates the information of an existing student in the system.
      * 
      * This endpoint modifies the details of a student record identified by the provided ID.
+     * When an If-Match header with the ETag of the student is sent, the update is only applied if
+     * the student has not been modified since, and 412 Precondition Failed is returned otherwise.
      * 
      * @param createStudent The CreateStudent object containing the updated information for the student.
      *                      This object should include all the fields that need to be updated.
      * @param id The unique identifier of the student whose information needs to be updated.
      *           This is a path variable and should be provided as part of the URL.
+     * @param ifMatch The optional If-Match header holding the ETag the client last read.
      * @return ResponseWrapper<Boolean> A wrapper object containing:
      *         - A boolean indicating the success of the operation (true in this case)
      *         - A Boolean value indicating whether the update was successful (true) or not (false)
      *         - An error message (which is set to a default "No error Recorded" in this case)
      */
     @PutMapping("/{id}")
-    public ResponseWrapper<Boolean> updateStudentInfoById(@RequestBody CreateStudent createStudent, @PathVariable Long id) {
-        return new ResponseWrapper<>(true, studentFacade.updateStudentInfoById(createStudent, id), NO_ERROR_MSG);
+    public CompletableFuture<ResponseWrapper<Boolean>> updateStudentInfoById(@RequestBody CreateStudent createStudent, @PathVariable Long id,
+                                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETagMapper.toExpectedVersion(ifMatch);
+        CompletableFuture<Boolean> isUpdated = expectedVersion == null
+                ? studentAsyncFacade.updateStudentInfoById(createStudent, id)
+                : studentAsyncFacade.updateStudentInfoById(createStudent, id, expectedVersion);
+        return isUpdated.thenApply((updated) -> new ResponseWrapper<>(true, updated, NO_ERROR_MSG));
     }
 
     /**
@@ -108,8 +201,68 @@ public class StudentController {
      *         - A List of StudentDto objects representing the matching students
      *         - An error message (which is set to a default "No error Recorded" in this case)
      */
+    @EndpointPriority(RequestPriority.LOW)
     @GetMapping("/all")
-    public ResponseWrapper<List<StudentDto>> getAllStudentsInfo(@RequestParam(defaultValue = "20") Integer limit, @RequestParam(defaultValue = "0") Integer offset, @RequestParam(defaultValue = "", required = false) String name) {
-        return new ResponseWrapper<>(true, studentFacade.getAllStudentsInfo(limit, offset, name), NO_ERROR_MSG);
+    public CompletableFuture<ResponseWrapper<List<StudentDto>>> getAllStudentsInfo(@RequestParam(defaultValue = "20") Integer limit, @RequestParam(defaultValue = "0") Integer offset, @RequestParam(defaultValue = "", required = false) String name) {
+        return studentAsyncFacade.getAllStudentsInfo(limit, offset, name).thenApply((students) -> new ResponseWrapper<>(true, students, NO_ERROR_MSG));
+    }
+
+    /**
+     * Retrieves one page of all students' information using cursor pagination, optionally filtered by name.
+     * 
+     * This endpoint is the cursor mode of /all. Pages are ordered by last update, newest first, and
+     * each page returns an opaque cursor for the next one. Unlike offset pagination, a deep page costs
+     * the same as the first one, and rows are neither skipped nor repeated when earlier rows change.
+     * 
+     * @param limit The maximum number of student records to return in a single request.
+     * @param cursor The nextCursor returned with the previous page. Leave it empty to get the first page.
+     * @param name A string to filter students by name. If provided, only students whose names
+     *             contain this string (case-insensitive) will be returned.
+     * @return ResponseWrapper<StudentPage> A wrapper object containing:
+     *         - A boolean indicating the success of the operation (true in this case)
+     *         - A StudentPage with the students of this page and the cursor of the next page (null on the last page)
+     *         - An error message (which is set to a default "No error Recorded" in this case)
+     */
+    @EndpointPriority(RequestPriority.LOW)
+    @GetMapping("/all/page")
+    public CompletableFuture<ResponseWrapper<StudentPage>> getAllStudentsInfoPage(@RequestParam(defaultValue = "20") Integer limit, @RequestParam(defaultValue = "", required = false) String cursor, @RequestParam(defaultValue = "", required = false) String name) {
+        return studentAsyncFacade.getAllStudentsInfo(limit, cursor, name).thenApply((page) -> new ResponseWrapper<>(true, page, NO_ERROR_MSG));
+    }
+
+    /**
+     * Retrieves aggregate statistics about all students.
+     * 
+     * This endpoint returns the number of students per class and per age from counters that are
+     * kept up to date as students change, so dashboards no longer need to page through /all.
+     * The counters may lag behind the database by the relay interval of the change events.
+     * 
+     * @return ResponseWrapper<StudentStats> A wrapper object containing:
+     *         - A boolean indicating the success of the operation (true in this case)
+     *         - A StudentStats object with the total and the per-class and per-age counts
+     *         - An error message (which is set to a default "No error Recorded" in this case)
+     */
+    @GetMapping("/stats")
+    public CompletableFuture<ResponseWrapper<StudentStats>> getStudentStats() {
+        return studentAsyncFacade.getStudentStats().thenApply((stats) -> new ResponseWrapper<>(true, stats, NO_ERROR_MSG));
+    }
+
+    /**
+     * Exports the information of all students as a file download.
+     * 
+     * This endpoint streams the complete student table straight to the response, one row at a time,
+     * so it can be used for full-table reporting without paging through /all.
+     * 
+     * @param format The export format, either "ndjson" (one JSON object per line, the default) or "csv".
+     * @param response The HTTP response the export is written to.
+     * @throws IOException If writing the response fails.
+     */
+    @EndpointPriority(RequestPriority.LOW)
+    @GetMapping("/export")
+    public void exportStudents(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students." + exportFormat.getFileExtension() + "\"");
+        studentFacade.exportStudents(exportFormat, response.getOutputStream());
     }
 }
@@ -1,12 +1,14 @@
 package com.synchrony.assignment.studentmanagement.dto.request;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.synchrony.assignment.studentmanagement.mapper.AgeDeserializer;
+import com.synchrony.assignment.studentmanagement.mapper.PhoneNumberDeserializer;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Data;
 
-import java.math.BigInteger;
-
 @Data
 @Builder
 public class CreateStudent {
@@ -14,12 +16,15 @@ public class CreateStudent {
     @NotBlank(message = "Name is required")
     private String name;
 
-    @NotBlank(message = "Age is required")
-    private String age;
+    // Clients written against the former string column may still send the age as a string
+    @NotNull(message = "Age is required")
+    @JsonDeserialize(using = AgeDeserializer.class)
+    private Integer age;
 
     @NotBlank(message = "Student class is required")
     private String studentClass;
 
-    @NotBlank(message = "Phone number is required")
-    private BigInteger phoneNumber;
+    @NotNull(message = "Phone number is required")
+    @JsonDeserialize(using = PhoneNumberDeserializer.class)
+    private Long phoneNumber;
 }
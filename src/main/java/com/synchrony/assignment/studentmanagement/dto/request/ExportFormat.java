@@ -0,0 +1,24 @@
+package com.synchrony.assignment.studentmanagement.dto.request;
+
+import com.synchrony.assignment.studentmanagement.exception.UnsupportedExportFormatException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new UnsupportedExportFormatException("Unsupported export format: " + value);
+    }
+}
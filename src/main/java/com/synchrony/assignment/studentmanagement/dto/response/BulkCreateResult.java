@@ -0,0 +1,14 @@
+package com.synchrony.assignment.studentmanagement.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkCreateResult {
+    private int received;
+    private int created;
+    private int failed;
+    private List<BulkRowFailure> failures = new ArrayList<>();
+}
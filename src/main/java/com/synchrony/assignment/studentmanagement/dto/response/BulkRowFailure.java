@@ -0,0 +1,11 @@
+package com.synchrony.assignment.studentmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkRowFailure {
+    private int row;
+    private String reason;
+}
@@ -2,13 +2,12 @@ package com.synchrony.assignment.studentmanagement.dto.response;
 
 import lombok.Data;
 
-import java.math.BigInteger;
-
 @Data
 public class StudentDto {
     private Long id;
     private String name;
-    private String age;
+    private Integer age;
     private String studentClass;
-    private BigInteger phoneNumber;
+    private Long phoneNumber;
+    private Long version;
 }
@@ -0,0 +1,12 @@
+package com.synchrony.assignment.studentmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StudentLookupResult {
+    private Long id;
+    private boolean found;
+    private StudentDto student;
+}
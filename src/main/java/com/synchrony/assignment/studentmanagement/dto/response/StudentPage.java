@@ -0,0 +1,13 @@
+package com.synchrony.assignment.studentmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class StudentPage {
+    private List<StudentDto> students;
+    private String nextCursor;
+}
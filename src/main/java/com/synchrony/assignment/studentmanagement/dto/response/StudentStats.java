@@ -0,0 +1,14 @@
+package com.synchrony.assignment.studentmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class StudentStats {
+    private long total;
+    private Map<String, Long> byStudentClass;
+    private Map<Integer, Long> byAge;
+}
@@ -0,0 +1,7 @@
+package com.synchrony.assignment.studentmanagement.exception;
+
+public class BatchLimitExceededException extends RuntimeException {
+    public BatchLimitExceededException(String message) {
+        super(message);
+    }
+}
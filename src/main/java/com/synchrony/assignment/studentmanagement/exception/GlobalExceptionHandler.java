@@ -1,6 +1,8 @@
 package com.synchrony.assignment.studentmanagement.exception;
 
 import com.synchrony.assignment.studentmanagement.dto.response.ResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -9,6 +11,22 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Value("${student.limiter.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ResponseWrapper<Void>> handleOverload(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ResponseWrapper<>(false, null, ex.getMessage()));
+    }
+
+    @ExceptionHandler(StudentVersionConflictException.class)
+    public ResponseEntity<ResponseWrapper<Void>> handleVersionConflict(StudentVersionConflictException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(new ResponseWrapper<>(false, null, ex.getMessage()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ResponseWrapper<Void>> handleRuntimeException(RuntimeException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,7 @@
+package com.synchrony.assignment.studentmanagement.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
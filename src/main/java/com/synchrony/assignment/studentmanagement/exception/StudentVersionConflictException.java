@@ -0,0 +1,7 @@
+package com.synchrony.assignment.studentmanagement.exception;
+
+public class StudentVersionConflictException extends RuntimeException {
+    public StudentVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.synchrony.assignment.studentmanagement.facade;
+
+import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentLookupResult;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentPage;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentStats;
+import com.synchrony.assignment.studentmanagement.model.Student;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of StudentFacade, returning futures instead of waiting for Redis and the database.
+ * Bulk loads and exports stream the request or response body and are only offered by StudentFacade.
+ */
+public interface StudentAsyncFacade {
+    CompletableFuture<Student> addStudent(CreateStudent createStudent);
+    CompletableFuture<StudentDto> getStudentById(Long id);
+    CompletableFuture<List<StudentDto>> getStudentByName(String name);
+    CompletableFuture<List<StudentLookupResult>> getStudentsByIds(List<Long> ids);
+    CompletableFuture<Boolean> deleteStudent(Long id);
+    CompletableFuture<Boolean> updateStudentInfoById(CreateStudent createStudent, Long id);
+    CompletableFuture<Boolean> updateStudentInfoById(CreateStudent createStudent, Long id, Long expectedVersion);
+    CompletableFuture<List<StudentDto>> getAllStudentsInfo(Integer limit, Integer offset, String name);
+    CompletableFuture<StudentPage> getAllStudentsInfo(Integer limit, String cursor, String name);
+    CompletableFuture<StudentStats> getStudentStats();
+}
@@ -1,17 +1,33 @@
 package com.synchrony.assignment.studentmanagement.facade;
 
 import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.request.ExportFormat;
+import com.synchrony.assignment.studentmanagement.dto.response.BulkCreateResult;
 import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentLookupResult;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentPage;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentStats;
 import com.synchrony.assignment.studentmanagement.model.Student;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 @Service
 public interface StudentFacade {
     Student addStudent(CreateStudent createStudent);
+    BulkCreateResult addStudents(InputStream students);
+    StudentDto getStudentById(Long id);
     List<StudentDto> getStudentByName(String name);
+    List<StudentLookupResult> getStudentsByIds(List<Long> ids);
     Boolean deleteStudent(Long id);
     Boolean updateStudentInfoById(CreateStudent createStudent, Long id);
+    Boolean updateStudentInfoById(CreateStudent createStudent, Long id, Long expectedVersion);
     List<StudentDto> getAllStudentsInfo(Integer limit,Integer offset, String name);
+    StudentPage getAllStudentsInfo(Integer limit, String cursor, String name);
+    void exportStudents(ExportFormat format, OutputStream out) throws IOException;
+    int warmUpCache(List<Long> ids);
+    StudentStats getStudentStats();
 }
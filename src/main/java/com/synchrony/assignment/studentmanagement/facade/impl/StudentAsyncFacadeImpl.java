@@ -0,0 +1,182 @@
+package com.synchrony.assignment.studentmanagement.facade.impl;
+
+import com.synchrony.assignment.studentmanagement.config.ReadWriteRoutingDataSource;
+import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentLookupResult;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentPage;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentStats;
+import com.synchrony.assignment.studentmanagement.exception.ServiceOverloadedException;
+import com.synchrony.assignment.studentmanagement.facade.StudentAsyncFacade;
+import com.synchrony.assignment.studentmanagement.model.Student;
+import com.synchrony.assignment.studentmanagement.service.RequestPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking implementation of the student facade.
+ *
+ * Cache reads of students, search results, batch lookups and statistics use the asynchronous
+ * Redisson API, so a request served from the cache holds no thread while Redis answers, and a
+ * student that missed the cache is loaded by composing on the batch loader. Reads that block,
+ * JDBC and the other cache loads on a miss, run on a dedicated executor, and writes run on
+ * a second one, so that a burst of writes cannot take every thread from reads or the other way
+ * round. Both have a fixed number of threads and a bounded queue, and together they are sized
+ * after the connection pool. When a queue is full the call fails with a
+ * ServiceOverloadedException instead of queueing without limit.
+ *
+ * The request priority and the primary-only routing of the calling thread are carried over to
+ * the executor, so the concurrency limiter and read-your-writes behave as for blocking calls.
+ * Cache semantics (near cache, stampede protection, batching, negative cache, metrics) are the
+ * ones of StudentFacadeImpl, which this class delegates to.
+ */
+@Service
+public class StudentAsyncFacadeImpl implements StudentAsyncFacade {
+
+    @Autowired
+    private StudentFacadeImpl studentFacade;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${student.async.jdbc-threads:15}")
+    private int jdbcThreads;
+
+    @Value("${student.async.queue-size:1000}")
+    private int queueSize;
+
+    @Value("${student.async.write-threads:5}")
+    private int writeThreads;
+
+    @Value("${student.async.write-queue-size:1000}")
+    private int writeQueueSize;
+
+    private ThreadPoolExecutor jdbcExecutor;
+
+    private ThreadPoolExecutor writeExecutor;
+
+    @PostConstruct
+    public void init() {
+        jdbcExecutor = newExecutor("student-jdbc-", jdbcThreads, queueSize);
+        new ExecutorServiceMetrics(jdbcExecutor, "student.async.jdbc", List.of()).bindTo(meterRegistry);
+        writeExecutor = newExecutor("student-write-", writeThreads, writeQueueSize);
+        new ExecutorServiceMetrics(writeExecutor, "student.async.write", List.of()).bindTo(meterRegistry);
+    }
+
+    private static ThreadPoolExecutor newExecutor(String namePrefix, int threads, int queueSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), (runnable) -> {
+                    Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jdbcExecutor.shutdown();
+        writeExecutor.shutdown();
+    }
+
+    public CompletableFuture<Student> addStudent(CreateStudent createStudent) {
+        return supplyWrite(() -> studentFacade.addStudent(createStudent));
+    }
+
+    public CompletableFuture<StudentDto> getStudentById(Long id) {
+        return studentFacade.getStudentByIdAsync(id, requestExecutor());
+    }
+
+    public CompletableFuture<List<StudentDto>> getStudentByName(String name) {
+        return studentFacade.getStudentByNameAsync(name, requestExecutor());
+    }
+
+    public CompletableFuture<List<StudentLookupResult>> getStudentsByIds(List<Long> ids) {
+        return studentFacade.getStudentsByIdsAsync(ids, requestExecutor(jdbcExecutor));
+    }
+
+    public CompletableFuture<Boolean> deleteStudent(Long id) {
+        return supplyWrite(() -> studentFacade.deleteStudent(id));
+    }
+
+    public CompletableFuture<Boolean> updateStudentInfoById(CreateStudent createStudent, Long id) {
+        return supplyWrite(() -> studentFacade.updateStudentInfoById(createStudent, id));
+    }
+
+    public CompletableFuture<Boolean> updateStudentInfoById(CreateStudent createStudent, Long id, Long expectedVersion) {
+        return supplyWrite(() -> studentFacade.updateStudentInfoById(createStudent, id, expectedVersion));
+    }
+
+    // Listing is not cached, every page is a database query
+    public CompletableFuture<List<StudentDto>> getAllStudentsInfo(Integer limit, Integer offset, String name) {
+        return supplyBlocking(() -> studentFacade.getAllStudentsInfo(limit, offset, name));
+    }
+
+    public CompletableFuture<StudentPage> getAllStudentsInfo(Integer limit, String cursor, String name) {
+        return supplyBlocking(() -> studentFacade.getAllStudentsInfo(limit, cursor, name));
+    }
+
+    public CompletableFuture<StudentStats> getStudentStats() {
+        return studentFacade.getStudentStatsAsync();
+    }
+
+    private <R> CompletableFuture<R> supplyBlocking(Supplier<R> call) {
+        return supply(call, jdbcExecutor);
+    }
+
+    private <R> CompletableFuture<R> supplyWrite(Supplier<R> call) {
+        return supply(call, writeExecutor);
+    }
+
+    private <R> CompletableFuture<R> supply(Supplier<R> call, ThreadPoolExecutor executor) {
+        try {
+            return CompletableFuture.supplyAsync(call, requestExecutor(executor));
+        } catch (ServiceOverloadedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Executor requestExecutor() {
+        return requestExecutor(jdbcExecutor);
+    }
+
+    /**
+     * Returns an executor that runs tasks on the given executor with the request priority and
+     * the primary-only routing of the calling thread, captured now.
+     */
+    private Executor requestExecutor(ThreadPoolExecutor executor) {
+        RequestPriority priority = RequestPriority.current();
+        boolean primaryOnly = ReadWriteRoutingDataSource.isPrimaryOnly();
+        return (task) -> {
+            try {
+                executor.execute(() -> {
+                    RequestPriority.set(priority);
+                    ReadWriteRoutingDataSource.setPrimaryOnly(primaryOnly);
+                    try {
+                        task.run();
+                    } finally {
+                        RequestPriority.clear();
+                        ReadWriteRoutingDataSource.setPrimaryOnly(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                throw new ServiceOverloadedException("The service is overloaded, please retry later");
+            }
+        };
+    }
+}
@@ -1,97 +1,673 @@
 package com.synchrony.assignment.studentmanagement.facade.impl;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synchrony.assignment.studentmanagement.config.ReadWriteRoutingDataSource;
 import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.request.ExportFormat;
+import com.synchrony.assignment.studentmanagement.dto.response.BulkCreateResult;
+import com.synchrony.assignment.studentmanagement.dto.response.BulkRowFailure;
 import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentLookupResult;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentPage;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentStats;
+import com.synchrony.assignment.studentmanagement.exception.BatchLimitExceededException;
+import com.synchrony.assignment.studentmanagement.exception.ServiceOverloadedException;
+import com.synchrony.assignment.studentmanagement.exception.StudentNotFoundException;
+import com.synchrony.assignment.studentmanagement.exception.StudentVersionConflictException;
 import com.synchrony.assignment.studentmanagement.facade.StudentFacade;
+import com.synchrony.assignment.studentmanagement.mapper.CursorMapper;
+import com.synchrony.assignment.studentmanagement.mapper.NameNormalizer;
 import com.synchrony.assignment.studentmanagement.mapper.StudentMapper;
 import com.synchrony.assignment.studentmanagement.model.Student;
+import com.synchrony.assignment.studentmanagement.service.BatchLoader;
 import com.synchrony.assignment.studentmanagement.service.RedisService;
+import com.synchrony.assignment.studentmanagement.service.StudentChangeEvent;
+import com.synchrony.assignment.studentmanagement.service.StudentExportService;
+import com.synchrony.assignment.studentmanagement.service.StudentIdFilter;
+import com.synchrony.assignment.studentmanagement.service.StudentNameIndex;
 import com.synchrony.assignment.studentmanagement.service.StudentService;
+import com.synchrony.assignment.studentmanagement.service.StudentStatsService;
+import com.synchrony.assignment.studentmanagement.service.StudentWriteBehindService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class StudentFacadeImpl implements StudentFacade {
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private static final String OVERLOADED_REASON = "Not stored, the service is overloaded, retry this row later";
+
+    private static final String CACHE_REQUESTS = "student.cache.requests";
+    private static final String CACHE_LOADS = "student.cache.loads";
+    private static final String FACADE_LATENCY = "student.facade.latency";
+
+    private static final String STUDENT_NAMESPACE = "student";
+    private static final String SEARCH_NAMESPACE = "search";
+
     @Autowired
     private StudentService studentService;
 
     @Autowired
     private RedisService<StudentDto> redisGenericService;
-    
-    
+
+    @Autowired
+    private StudentNameIndex studentNameIndex;
+
+    @Autowired
+    private StudentExportService studentExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentWriteBehindService studentWriteBehindService;
+
+    @Autowired
+    private StudentIdFilter studentIdFilter;
+
+    @Autowired
+    private StudentStatsService studentStatsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${student.batch.max-ids:5000}")
+    private int maxBatchIds;
+
+    @Value("${student.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @Value("${student.negative-cache.ttl:60}")
+    private long negativeCacheTtl;
+
+    @Value("${student.batch-loader.enabled:true}")
+    private boolean batchLoaderEnabled;
+
+    @Value("${student.batch-loader.window-micros:1500}")
+    private long batchLoaderWindowMicros;
+
+    @Value("${student.batch-loader.max-batch-size:100}")
+    private int batchLoaderMaxBatchSize;
+
+    @Value("${student.batch-loader.threads:4}")
+    private int batchLoaderThreads;
+
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService batchLoaderExecutor;
+
+    private BatchLoader<Long, StudentDto> studentLoader;
+
+    @PostConstruct
+    public void init() {
+        if (!batchLoaderEnabled) {
+            return;
+        }
+        DistributionSummary batchSizes = DistributionSummary.builder("student.batch-loader.batch-size")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        batchLoaderExecutor = Executors.newScheduledThreadPool(batchLoaderThreads, (runnable) -> {
+            Thread thread = new Thread(runnable, "student-batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        studentLoader = new BatchLoader<>(this::loadStudents, batchLoaderMaxBatchSize, TimeUnit.MICROSECONDS.toNanos(batchLoaderWindowMicros),
+                batchLoaderExecutor, batchSizes::record);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batchLoaderExecutor != null) {
+            batchLoaderExecutor.shutdown();
+        }
+    }
+
     /**
      * Adds a new student to the system.
      * 
      * This method takes a CreateStudent object containing the new student's information,
-     * passes it to the studentService to create a new Student entity, and returns the
-     * created Student object.
+     * passes it to the studentService to create a new Student entity, writes the student
+     * through to the Redis cache so that the first read does not miss, registers its ID as
+     * existing, invalidates cached search results for the student's name, and returns the
+     * created Student object. The name index is brought up to date by the relayed CREATED
+     * change event, which also invalidates the search results again in case this node stopped
+     * before doing so.
      *
      * @param createStudent A CreateStudent object containing the information for the new student.
      * @return A Student object representing the newly created student in the system.
      */
     public Student addStudent(CreateStudent createStudent) {
-        Student student = studentService.addStudent(createStudent);
-        return student;
+        return timed("addStudent", () -> {
+            Student student = studentService.addStudent(createStudent);
+            redisGenericService.saveBucket(getStudentKey(student.getId()), StudentMapper.toDto(student));
+            studentIdFilter.put(student.getId());
+            redisGenericService.clearAbsent(List.of(getAbsentKey(student.getId())));
+            redisGenericService.invalidateTags(List.of(getNameTag(student.getName())));
+            return student;
+        });
+    }
+
+    /**
+     * Adds many students to the system from a streamed request body.
+     * 
+     * The body is either a JSON array or newline-delimited JSON objects and is read one row at
+     * a time, so memory use does not grow with the size of the load. Valid rows are persisted in
+     * chunks of the configured size, each chunk with one batched insert. A row that is invalid
+     * or rejected by the database is reported as a failure without aborting the rest of the load.
+     * 
+     * If the concurrency limiter rejects a chunk before any row was stored, the whole load fails
+     * with a ServiceOverloadedException and can be retried as is. Once rows were stored, a retry
+     * would insert them twice, so the load stops instead and every row that was not stored is
+     * reported as failed, together with the number of rows already created.
+     *
+     * @param students The request body holding the CreateStudent rows to add.
+     * @return A BulkCreateResult with the number of rows received, created and failed, and the
+     *         reason for each failed row (up to a fixed number of reported failures).
+     * @throws ServiceOverloadedException If the database is overloaded before any row was stored.
+     */
+    public BulkCreateResult addStudents(InputStream students) {
+        BulkCreateResult result = new BulkCreateResult();
+        List<Student> chunk = new ArrayList<>(bulkChunkSize);
+        List<Integer> chunkRows = new ArrayList<>(bulkChunkSize);
+        int row = 0;
+        try (MappingIterator<CreateStudent> rows = objectMapper.readerFor(CreateStudent.class).readValues(students)) {
+            while (rows.hasNextValue()) {
+                CreateStudent createStudent;
+                try {
+                    createStudent = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    recordFailure(result, row++, "Malformed row: " + e.getOriginalMessage());
+                    continue;
+                }
+                String invalidReason = validate(createStudent);
+                if (invalidReason != null) {
+                    recordFailure(result, row++, invalidReason);
+                    continue;
+                }
+                chunk.add(StudentMapper.toEntity(createStudent));
+                chunkRows.add(row++);
+                if (chunk.size() >= bulkChunkSize && !flushChunk(chunk, chunkRows, result)) {
+                    if (rows.hasNextValue()) {
+                        recordFailure(result, row, OVERLOADED_REASON + ", stopped reading at this row");
+                    }
+                    result.setReceived(row);
+                    return result;
+                }
+            }
+        } catch (IOException e) {
+            // The input can no longer be parsed, keep what was read so far and stop
+            recordFailure(result, row, "Malformed input, stopped reading: " + e.getMessage());
+        }
+        flushChunk(chunk, chunkRows, result);
+        result.setReceived(row);
+        return result;
+    }
+
+    /**
+     * Stores one chunk of valid rows.
+     *
+     * @return false if the concurrency limiter rejected the chunk after earlier rows were stored,
+     *         in which case the rows of the chunk that were not stored are reported as failed.
+     */
+    private boolean flushChunk(List<Student> chunk, List<Integer> chunkRows, BulkCreateResult result) {
+        if (chunk.isEmpty()) {
+            return true;
+        }
+        int handled = 0;
+        try {
+            try {
+                result.setCreated(result.getCreated() + studentService.addStudents(chunk));
+                handled = chunk.size();
+            } catch (DataAccessException e) {
+                // The chunk was rolled back as a whole, retry it row by row to isolate the failing rows
+                for (; handled < chunk.size(); handled++) {
+                    try {
+                        result.setCreated(result.getCreated() + studentService.addStudents(List.of(chunk.get(handled))));
+                    } catch (DataAccessException rowException) {
+                        recordFailure(result, chunkRows.get(handled), rowException.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        } catch (ServiceOverloadedException e) {
+            if (result.getCreated() == 0) {
+                // Nothing was stored yet, so the client can safely retry the whole load
+                throw e;
+            }
+            for (int i = handled; i < chunk.size(); i++) {
+                recordFailure(result, chunkRows.get(i), OVERLOADED_REASON);
+            }
+        }
+        boolean isComplete = handled == chunk.size();
+        List<Long> createdIds = chunk.stream().map(Student::getId).filter(Objects::nonNull).collect(Collectors.toList());
+        studentIdFilter.putAll(createdIds);
+        redisGenericService.clearAbsent(createdIds.stream().map(this::getAbsentKey).collect(Collectors.toList()));
+        redisGenericService.invalidateTags(chunk.stream()
+                .filter((s) -> s.getId() != null)
+                .map((s) -> getNameTag(s.getName()))
+                .collect(Collectors.toSet()));
+        chunk.clear();
+        chunkRows.clear();
+        return isComplete;
+    }
+
+    private String validate(CreateStudent createStudent) {
+        if (createStudent == null) {
+            return "Row is empty";
+        }
+        if (isBlank(createStudent.getName())) {
+            return "Name is required";
+        }
+        if (createStudent.getAge() == null) {
+            return "Age is required";
+        }
+        if (isBlank(createStudent.getStudentClass())) {
+            return "Student class is required";
+        }
+        if (createStudent.getPhoneNumber() == null) {
+            return "Phone number is required";
+        }
+        return null;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private void recordFailure(BulkCreateResult result, int row, String reason) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getFailures().size() < MAX_REPORTED_FAILURES) {
+            result.getFailures().add(new BulkRowFailure(row, reason));
+        }
     }
 
-    
     /**
      * Generates a unique key for a student based on their ID.
      * This key is used for caching student information in Redis.
+     * 
+     * The ID is a Redis Cluster hash tag, so every key of one student (its entry, its negative
+     * cache marker, its load lock and the tag of the search results containing it) is stored in
+     * the same slot, while different students are still spread over the whole cluster.
      *
      * @param id The unique identifier of the student.
-     * @return A String representing the Redis key for the student, in the format "student_[id]".
+     * @return A String representing the Redis key for the student, in the format "student_{[id]}".
      */
     private String getStudentKey(Long id) {
-        return "student_" + id;
+        return "student_{" + id + "}";
+    }
+
+    /**
+     * Generates the key of the negative cache entry recording that a student does not exist.
+     *
+     * @param id The unique identifier of the student.
+     * @return A String representing the Redis key of the marker, in the format "student_absent_{[id]}".
+     */
+    private String getAbsentKey(Long id) {
+        return "student_absent_{" + id + "}";
     }
 
     /**
      * Generates a unique key for caching search results based on a student's name.
      * This key is used for storing and retrieving search results in Redis.
+     * The name is a Redis Cluster hash tag, so the results and their load lock share a slot.
      *
      * @param name The name of the student used in the search query.
      * @return A String representing the Redis key for the search results, 
-     *         in the format "search_[name]".
+     *         in the format "search_{[name]}".
      */
     private String getNameResultsKey(String name) {
-        return "search_" + name;
+        return "search_{" + name + "}";
+    }
+
+    /**
+     * Generates the tag under which cached search results for a name are registered.
+     * Names are compared the way the database compares them (ignoring case and accents),
+     * so every spelling of a name that can match the same students shares one tag.
+     *
+     * @param name The student name.
+     * @return A String representing the tag, in the format "search_name_{[normalized name]}".
+     */
+    private String getNameTag(String name) {
+        return "search_name_{" + NameNormalizer.normalize(name) + "}";
+    }
+
+    /**
+     * Generates the tag under which every cached search result containing a student is registered.
+     *
+     * @param id The unique identifier of the student.
+     * @return A String representing the tag, in the format "search_student_{[id]}".
+     */
+    private String getStudentTag(Long id) {
+        return "search_student_{" + id + "}";
+    }
+
+    private List<String> getSearchResultTags(String name, List<StudentDto> students) {
+        List<String> tags = new ArrayList<>(students.size() + 1);
+        tags.add(getNameTag(name));
+        students.forEach((s) -> tags.add(getStudentTag(s.getId())));
+        return tags;
     }
 
     /**
      * Retrieves a student's information by their ID, utilizing Redis caching for improved performance.
      * 
-     * This method first checks if the student's data is available in the Redis cache.
+     * This method reads the student's data from the Redis cache in a single round trip.
      * If found, it returns the cached data. Otherwise, it fetches the data from the
      * primary data source, caches it in Redis for future use, and then returns it.
+     * Concurrent misses for the same student share one load from the primary source, and
+     * misses for different students within a short window are loaded together with one IN
+     * query and written to the cache in one pipelined batch.
+     * 
+     * IDs that the Bloom filter of existing IDs rules out are rejected without any lookup, and
+     * IDs recently found not to exist are rejected from a short-lived negative cache entry.
      *
      * @param id The unique identifier of the student to retrieve.
      * @return A StudentDto object containing the student's information. If the student
      *         is found in the cache, the cached data is returned. Otherwise, the data
      *         is fetched from the primary source, cached, and then returned.
+     * @throws StudentNotFoundException If no student exists with the given ID.
      */
     public StudentDto getStudentById(Long id) {
         String key = getStudentKey(id);
-        if(redisGenericService.bucketExists(key)) {
-            return redisGenericService.getBucket(key);
+        return timed("getStudentById", () -> {
+            if (!studentIdFilter.mightExist(id)) {
+                throw new StudentNotFoundException("Student record not found");
+            }
+            boolean[] missed = {false};
+            boolean batched = isBatchLoaded();
+            Supplier<StudentDto> loader = studentLoader(id, batched);
+            StudentDto student = batched
+                    // The batch loader caches what it loads, a refresh-ahead loads the student directly instead
+                    ? redisGenericService.getOrBatchLoadBucket(key, loader, studentLoader(id, false), () -> missed[0] = true)
+                    : redisGenericService.getOrLoadBucket(key, loader, () -> missed[0] = true);
+            countRequest(STUDENT_NAMESPACE, !missed[0]);
+            return student;
+        });
+    }
+
+    /**
+     * Asynchronous form of getStudentById, used by StudentAsyncFacadeImpl.
+     * 
+     * The cache is read without blocking the calling thread, so a cache hit holds no thread while
+     * Redis answers. On a miss, the student is loaded through the batch loader by composing on
+     * its future, so no thread waits for the batch. Without the batch loader, the load runs as in
+     * getStudentById on the given executor.
+     *
+     * @param id The unique identifier of the student to retrieve.
+     * @param loadExecutor The executor that runs the blocking load on a cache miss, when the batch loader is disabled.
+     * @return A future of the StudentDto, completed exceptionally with a StudentNotFoundException
+     *         if no student exists with the given ID.
+     */
+    CompletableFuture<StudentDto> getStudentByIdAsync(Long id, Executor loadExecutor) {
+        String key = getStudentKey(id);
+        return timedAsync("getStudentById", () -> {
+            if (!studentIdFilter.mightExist(id)) {
+                return CompletableFuture.failedFuture(new StudentNotFoundException("Student record not found"));
+            }
+            boolean[] missed = {false};
+            CompletableFuture<StudentDto> student = isBatchLoaded()
+                    ? redisGenericService.getOrBatchLoadBucketAsync(key, () -> batchLoadStudentAsync(id), studentLoader(id, false),
+                            () -> missed[0] = true)
+                    : redisGenericService.getOrLoadBucketAsync(key, studentLoader(id, false), () -> missed[0] = true, loadExecutor);
+            return student.whenComplete((dto, e) -> countRequest(STUDENT_NAMESPACE, !missed[0]));
+        });
+    }
+
+    private boolean isBatchLoaded() {
+        // Batches are loaded from the primary, so they also see this client's own writes
+        return studentLoader != null;
+    }
+
+    private Supplier<StudentDto> studentLoader(Long id, boolean batched) {
+        return () -> {
+            StudentDto pending = studentWriteBehindService.getPending(id);
+            if (pending != null) {
+                return pending;
+            }
+            if (redisGenericService.isMarkedAbsent(getAbsentKey(id))) {
+                throw new StudentNotFoundException("Student record not found");
+            }
+            countLoad(STUDENT_NAMESPACE);
+            try {
+                return batched ? awaitBatchLoad(id) : ReadWriteRoutingDataSource.onPrimary(() -> StudentMapper.toDto(studentService.getStudentById(id)));
+            } catch (StudentNotFoundException e) {
+                studentIdFilter.recordFalsePositive();
+                redisGenericService.markAbsent(getAbsentKey(id), negativeCacheTtl);
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Same as the batched studentLoader, without blocking the calling thread. It runs on the
+     * thread that completed the cache read, so it only makes asynchronous Redis calls, and the
+     * batch itself runs on the threads of the batch loader.
+     */
+    private CompletableFuture<StudentDto> batchLoadStudentAsync(Long id) {
+        return studentWriteBehindService.getPendingAsync(id).thenCompose((pending) -> {
+            if (pending != null) {
+                return CompletableFuture.completedFuture(pending);
+            }
+            return redisGenericService.isMarkedAbsentAsync(getAbsentKey(id)).thenCompose((absent) -> {
+                if (absent) {
+                    return CompletableFuture.failedFuture(new StudentNotFoundException("Student record not found"));
+                }
+                countLoad(STUDENT_NAMESPACE);
+                return studentLoader.load(id).thenCompose((student) -> {
+                    if (student != null) {
+                        return CompletableFuture.completedFuture(student);
+                    }
+                    studentIdFilter.recordFalsePositive();
+                    return redisGenericService.markAbsentAsync(getAbsentKey(id), negativeCacheTtl).thenCompose((marked) ->
+                            CompletableFuture.failedFuture(new StudentNotFoundException("Student record not found")));
+                });
+            });
+        });
+    }
+
+    private StudentDto awaitBatchLoad(Long id) {
+        StudentDto student;
+        try {
+            student = studentLoader.load(id).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (student == null) {
+            throw new StudentNotFoundException("Student record not found");
+        }
+        return student;
+    }
+
+    /**
+     * Loads one batch of students that missed the cache with a single IN query, and writes them
+     * to the cache in one pipelined batch. Runs on the threads of the batch loader. Like every
+     * load that fills the cache, it reads from the primary, as a value read from a lagging replica
+     * would be served from the cache to every node until it expires.
+     *
+     * @param ids The distinct IDs of the students to load.
+     * @return The students that were found, keyed by ID.
+     */
+    private Map<Long, StudentDto> loadStudents(List<Long> ids) {
+        Map<Long, StudentDto> loaded = new HashMap<>();
+        Map<String, StudentDto> buckets = new HashMap<>();
+        for (Student student : ReadWriteRoutingDataSource.onPrimary(() -> studentService.getStudentsByIds(ids))) {
+            StudentDto dto = StudentMapper.toDto(student);
+            loaded.put(dto.getId(), dto);
+            buckets.put(getStudentKey(dto.getId()), dto);
+        }
+        redisGenericService.saveBuckets(buckets);
+        return loaded;
+    }
+    /**
+     * Retrieves many students by their IDs, utilizing Redis caching for improved performance.
+     * 
+     * All requested students are first read from the cache in one multi-key lookup. Only the
+     * IDs that were not cached, and that the ID filter does not rule out, are loaded from the
+     * primary data source with a single IN query, and those are written back to the cache in one
+     * pipelined batch. Results are returned in the order of the requested IDs, with a not-found
+     * marker for every ID that does not exist.
+     *
+     * @param ids The unique identifiers of the students to retrieve. Duplicates are allowed.
+     * @return A List of StudentLookupResult objects, one per requested ID and in request order.
+     * @throws BatchLimitExceededException If more IDs are requested than the configured limit.
+     */
+    public List<StudentLookupResult> getStudentsByIds(List<Long> ids) {
+        if (ids.size() > maxBatchIds) {
+            throw new BatchLimitExceededException("A batch lookup accepts at most " + maxBatchIds + " ids");
+        }
+        return timed("getStudentsByIds", () -> lookupStudentsByIds(ids));
+    }
+
+    /**
+     * Asynchronous form of getStudentsByIds, used by StudentAsyncFacadeImpl.
+     * 
+     * The cache is read without blocking the calling thread, so a batch that is fully cached
+     * holds no thread while Redis answers. The IDs that missed are loaded as in getStudentsByIds
+     * on the given executor.
+     *
+     * @param ids The unique identifiers of the students to retrieve. Duplicates are allowed.
+     * @param loadExecutor The executor that runs the blocking load of the IDs that missed.
+     * @return A future of the StudentLookupResult objects, completed exceptionally with a
+     *         BatchLimitExceededException if more IDs are requested than the configured limit.
+     */
+    CompletableFuture<List<StudentLookupResult>> getStudentsByIdsAsync(List<Long> ids, Executor loadExecutor) {
+        if (ids.size() > maxBatchIds) {
+            return CompletableFuture.failedFuture(new BatchLimitExceededException("A batch lookup accepts at most " + maxBatchIds + " ids"));
         }
-        Student result = studentService.getStudentById(id);
-        StudentDto modifiedResult = StudentMapper.toDto(result);
-        redisGenericService.saveBucket(key, modifiedResult);
-        return modifiedResult;
+        return timedAsync("getStudentsByIds", () -> {
+            Set<Long> uniqueIds = uniqueIds(ids);
+            return redisGenericService.getBucketsAsync(uniqueIds.stream().map(this::getStudentKey).collect(Collectors.toList()))
+                    .thenCompose((cached) -> {
+                        Map<Long, StudentDto> resolved = new HashMap<>();
+                        List<Long> missingIds = resolveCached(uniqueIds, cached, resolved);
+                        if (missingIds.isEmpty()) {
+                            return CompletableFuture.completedFuture(toLookupResults(ids, resolved));
+                        }
+                        return CompletableFuture.supplyAsync(() -> {
+                            loadMissing(missingIds, resolved);
+                            return toLookupResults(ids, resolved);
+                        }, loadExecutor);
+                    });
+        });
+    }
+
+    private List<StudentLookupResult> lookupStudentsByIds(List<Long> ids) {
+        Set<Long> uniqueIds = uniqueIds(ids);
+        List<String> keys = uniqueIds.stream().map(this::getStudentKey).collect(Collectors.toList());
+        Map<Long, StudentDto> resolved = new HashMap<>();
+        List<Long> missingIds = resolveCached(uniqueIds, redisGenericService.getBuckets(keys), resolved);
+        loadMissing(missingIds, resolved);
+        return toLookupResults(ids, resolved);
+    }
+
+    private Set<Long> uniqueIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        return uniqueIds;
     }
+
+    /**
+     * Puts the cached students into resolved and returns the IDs that missed the cache and that
+     * the ID filter does not rule out.
+     */
+    private List<Long> resolveCached(Set<Long> uniqueIds, Map<String, StudentDto> cached, Map<Long, StudentDto> resolved) {
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            StudentDto dto = cached.get(getStudentKey(id));
+            if (dto != null) {
+                resolved.put(id, dto);
+            } else if (studentIdFilter.mightExist(id)) {
+                missingIds.add(id);
+            }
+        }
+        meterRegistry.counter(CACHE_REQUESTS, "namespace", STUDENT_NAMESPACE, "result", "hit").increment(resolved.size());
+        meterRegistry.counter(CACHE_REQUESTS, "namespace", STUDENT_NAMESPACE, "result", "miss").increment(missingIds.size());
+        return missingIds;
+    }
+
+    private void loadMissing(List<Long> missingIds, Map<Long, StudentDto> resolved) {
+        if (missingIds.isEmpty()) {
+            return;
+        }
+        countLoad(STUDENT_NAMESPACE);
+        Map<String, StudentDto> loaded = new HashMap<>();
+        for (Student student : ReadWriteRoutingDataSource.onPrimary(() -> studentService.getStudentsByIds(missingIds))) {
+            StudentDto dto = StudentMapper.toDto(student);
+            resolved.put(dto.getId(), dto);
+            loaded.put(getStudentKey(dto.getId()), dto);
+        }
+        redisGenericService.saveBuckets(loaded);
+    }
+
+    private List<StudentLookupResult> toLookupResults(List<Long> ids, Map<Long, StudentDto> resolved) {
+        return ids.stream().map((id) -> {
+            StudentDto dto = id == null ? null : resolved.get(id);
+            return new StudentLookupResult(id, dto != null, dto);
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the given students from the primary data source into the Redis cache.
+     * 
+     * The students are read with a single IN query and written to the cache in one pipelined
+     * batch. This is used to warm the cache before the application starts taking traffic. Other
+     * nodes are already serving, so a student cached meanwhile is left as it is, and the students
+     * are not kept in the near cache of this node.
+     *
+     * @param ids The unique identifiers of the students to load.
+     * @return The number of students that were loaded into the cache.
+     */
+    public int warmUpCache(List<Long> ids) {
+        Map<String, StudentDto> loaded = new HashMap<>();
+        for (Student student : ReadWriteRoutingDataSource.onPrimary(() -> studentService.getStudentsByIds(ids))) {
+            loaded.put(getStudentKey(student.getId()), StudentMapper.toDto(student));
+        }
+        return redisGenericService.warmBuckets(loaded);
+    }
+
     /**
      * Retrieves a list of students by their name, utilizing Redis caching for improved performance.
      * 
-     * This method first checks if the search results for the given name are available in the Redis cache.
+     * This method reads the search results for the given name from the Redis cache in a single round trip.
      * If found, it returns the cached data. Otherwise, it fetches the data from the primary data source,
      * converts it to DTOs, caches the results in Redis for future use, and then returns them.
+     * Concurrent misses for the same name share one load from the primary source. Cached results are
+     * tagged with the searched name and with every student they contain, so that adding, updating or
+     * deleting a student invalidates exactly the results it affects.
      *
      * @param name The name of the student(s) to search for.
      * @return A List of StudentDto objects containing information about students matching the given name.
@@ -100,15 +676,42 @@ public class StudentFacadeImpl implements StudentFacade {
      */
     public List<StudentDto> getStudentByName(String name) {
         String redisNameResultsKey = getNameResultsKey(name);
-         if(redisGenericService.listExists(redisNameResultsKey)) {
-             return redisGenericService.getList(redisNameResultsKey);
-         }
-        List<Student> students = studentService.getStudentByName(name);
-        List<StudentDto> studentDtos = students.stream().map((s) -> {
-            return StudentMapper.toDto(s);
-        }).collect(Collectors.toList());
-        redisGenericService.saveList(redisNameResultsKey, studentDtos);
-        return studentDtos;
+        return timed("getStudentByName", () -> {
+            boolean[] missed = {false};
+            List<StudentDto> students = redisGenericService.getOrLoadList(redisNameResultsKey, searchLoader(name),
+                    (studentDtos) -> getSearchResultTags(name, studentDtos), () -> missed[0] = true);
+            countRequest(SEARCH_NAMESPACE, !missed[0]);
+            return students;
+        });
+    }
+
+    /**
+     * Asynchronous form of getStudentByName, used by StudentAsyncFacadeImpl.
+     * 
+     * The cached search results are read without blocking the calling thread. On a miss, the
+     * search runs as in getStudentByName on the given executor.
+     *
+     * @param name The name of the student(s) to search for.
+     * @param loadExecutor The executor that runs the blocking search on a cache miss.
+     * @return A future of the StudentDto objects of the students matching the given name.
+     */
+    CompletableFuture<List<StudentDto>> getStudentByNameAsync(String name, Executor loadExecutor) {
+        String redisNameResultsKey = getNameResultsKey(name);
+        return timedAsync("getStudentByName", () -> {
+            boolean[] missed = {false};
+            return redisGenericService.getOrLoadListAsync(redisNameResultsKey, searchLoader(name),
+                    (studentDtos) -> getSearchResultTags(name, studentDtos), () -> missed[0] = true, loadExecutor)
+                    .whenComplete((students, e) -> countRequest(SEARCH_NAMESPACE, !missed[0]));
+        });
+    }
+
+    private Supplier<List<StudentDto>> searchLoader(String name) {
+        return () -> {
+            countLoad(SEARCH_NAMESPACE);
+            return ReadWriteRoutingDataSource.onPrimary(() -> studentService.getStudentByName(name)).stream().map((s) -> {
+                return StudentMapper.toDto(s);
+            }).collect(Collectors.toList());
+        };
     }
     
     
@@ -116,19 +719,31 @@ public class StudentFacadeImpl implements StudentFacade {
      * Deletes a student from the system and removes their cached information.
      * 
      * This method attempts to delete a student using the provided ID. If the deletion
-     * is successful, it also removes any cached information for that student from Redis.
+     * is successful, it also removes any cached information for that student from Redis
+     * and from the near cache of every application node, including every cached search
+     * result that contains the student. The relayed DELETED change event repeats the
+     * invalidation and removes the student from the name index.
      *
      * @param id The unique identifier of the student to be deleted.
      * @return A Boolean value indicating whether the deletion was successful.
      *         Returns true if the student was successfully deleted, false otherwise.
      */
     public Boolean deleteStudent(Long id) {
+        return timed("deleteStudent", () -> removeStudent(id));
+    }
+
+    private Boolean removeStudent(Long id) {
         Boolean isDeleted = studentService.deleteStudent(id);
         String key = getStudentKey(id);
         if(isDeleted) {
             if(redisGenericService.bucketExists(key)) {
                 redisGenericService.deleteBucket(key);
             }
+            redisGenericService.publishInvalidation(key);
+            redisGenericService.invalidateTags(List.of(getStudentTag(id)));
+            studentWriteBehindService.discard(id);
+            // The ID filter keeps the ID until its next rebuild, the marker answers lookups until then
+            redisGenericService.markAbsent(getAbsentKey(id), negativeCacheTtl);
         }
         return isDeleted;
     }
@@ -138,9 +753,16 @@ public class StudentFacadeImpl implements StudentFacade {
      * 
      * This method updates a student's information in the primary data store and, if successful,
      * updates or invalidates related cache entries. It handles the following scenarios:
-     * 1. Updates the student information in the primary data store.
-     * 2. If successful, updates the cached student information.
-     * 3. If the student's name has changed, it invalidates any cached search results for the old name.
+     * 1. Updates the student information in the primary data store, without reading it first.
+     * 2. If successful, drops the cached student information, as its new version is not known,
+     *    from Redis and from the near cache of every application node.
+     * 3. Invalidates every cached search result that contains the student or that matches the new name.
+     * The name index is brought up to date by the relayed UPDATED change event, which also repeats
+     * the invalidation in case this node stopped before it, see onStudentsChanged.
+     *
+     * In write-behind mode the update is only written to the cache and queued, and a background
+     * worker writes it to the primary data store shortly after. When the queue is full the update
+     * is written to the primary data store right away, as in the default mode.
      *
      * @param createStudent A CreateStudent object containing the updated information for the student.
      * @param id The unique identifier of the student whose information is to be updated.
@@ -148,29 +770,158 @@ public class StudentFacadeImpl implements StudentFacade {
      *         Returns true if the student information was successfully updated, false otherwise.
      */
     public Boolean updateStudentInfoById(CreateStudent createStudent, Long id) {
-        StudentDto initialInfo = getStudentById(id);
-        Boolean isUpdated = studentService.updateStudentInfoById(createStudent, id);
+        return timed("updateStudentInfoById", () -> updateStudent(createStudent, id, null));
+    }
+
+    /**
+     * Updates the information of a student only if it has not been modified since the given version.
+     * 
+     * This is the conditional form of updateStudentInfoById, used for requests carrying an If-Match
+     * header. The version check and the update are a single conditional UPDATE statement, and as
+     * the new version is known afterwards, the cached student information is replaced instead of dropped.
+     * It is only replaced if it is still cached, in one command, so a student evicted in the meantime
+     * stays evicted.
+     *
+     * @param createStudent A CreateStudent object containing the updated information for the student.
+     * @param id The unique identifier of the student whose information is to be updated.
+     * @param expectedVersion The version the client last read, taken from the ETag.
+     * @return A Boolean value indicating whether the update was successful.
+     * @throws StudentVersionConflictException If the student has been modified since the expected version.
+     */
+    public Boolean updateStudentInfoById(CreateStudent createStudent, Long id, Long expectedVersion) {
+        return timed("updateStudentInfoById", () -> updateStudent(createStudent, id, expectedVersion));
+    }
+
+    private Boolean updateStudent(CreateStudent createStudent, Long id, Long expectedVersion) {
+        StudentDto result = StudentMapper.fromRequest(createStudent, id);
+        boolean isQueued = studentWriteBehindService.isEnabled() && enqueueUpdate(result, expectedVersion);
+        Boolean isUpdated = isQueued;
+        if (!isQueued) {
+            if (expectedVersion == null) {
+                isUpdated = studentService.updateStudentInfoById(createStudent, id);
+                result.setVersion(null);
+            } else {
+                isUpdated = studentService.updateStudentInfoById(createStudent, id, expectedVersion);
+                result.setVersion(expectedVersion + 1);
+            }
+        }
     
         String key = getStudentKey(id);
         if(isUpdated) {
-            StudentDto result = StudentMapper.fromRequest(createStudent, id);
-            if(redisGenericService.bucketExists(key)) {
+            if(result.getVersion() == null) {
+                redisGenericService.deleteBucket(key);
+            } else if(isQueued) {
+                // The cache holds the queued update until it is flushed
                 redisGenericService.saveBucket(key, result);
+            } else {
+                redisGenericService.replaceBucket(key, result);
             }
-            String initialNameResultsKey = getNameResultsKey(initialInfo.getName());
-            if(!Objects.equals(initialInfo.getName(), result.getName()) && redisGenericService.listExists(initialNameResultsKey)) {
-                redisGenericService.deleteKeysByPattern(initialNameResultsKey);
-            }
+            redisGenericService.publishInvalidation(key);
+            redisGenericService.invalidateTags(List.of(getStudentTag(id), getNameTag(result.getName())));
         }
         return isUpdated;
     }
 
+    /**
+     * Queues an update for write-behind, with the version following the current one.
+     *
+     * The current version is the one of the pending update of the student, if there is one, and the
+     * version check and the enqueue are one compare-and-set on that pending update. Of two requests
+     * based on the same version only one is queued, and the other one sees the new pending update
+     * and fails the check. A conditional update of a student without a pending update is left to
+     * the conditional UPDATE statement, as only the database knows its current version.
+     *
+     * @param result The new information of the student, whose version is set here.
+     * @param expectedVersion The version the client last read, or null for an unconditional update.
+     * @return true if the update was queued, false if it has to be written synchronously.
+     * @throws StudentVersionConflictException If the pending update is not at the expected version.
+     */
+    private boolean enqueueUpdate(StudentDto result, Long expectedVersion) {
+        while (true) {
+            StudentDto pending = studentWriteBehindService.getPending(result.getId());
+            if (pending == null && expectedVersion != null) {
+                return false;
+            }
+            Long currentVersion = pending != null ? pending.getVersion() : getStudentById(result.getId()).getVersion();
+            if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+                throw new StudentVersionConflictException("Student record was modified by another request");
+            }
+            result.setVersion(currentVersion == null ? null : currentVersion + 1);
+            StudentWriteBehindService.EnqueueResult enqueued = studentWriteBehindService.enqueue(pending, result);
+            if (enqueued != StudentWriteBehindService.EnqueueResult.STALE) {
+                return enqueued == StudentWriteBehindService.EnqueueResult.QUEUED;
+            }
+            // The pending update was replaced or flushed in the meantime, decide again on the new state
+        }
+    }
+
+    /**
+     * Brings the Redis cache up to date with a batch of committed student changes.
+     * 
+     * This method is the cache consumer of the change events relayed from the student outbox,
+     * so the cache converges even if the application stopped between a database write and its
+     * cache maintenance. It handles the following scenarios:
+     * 1. A cached student older than an UPDATED event, or whose version is unknown, is evicted
+     *    from Redis and from the near cache of every application node. Newer entries are kept.
+     * 2. A DELETED student is evicted and marked as absent.
+     * 3. A CREATED student loses its absent marker, if any.
+     * 4. Every cached search result that contains a changed student or that matches the name of a
+     *    created or updated student is invalidated, with one tag invalidation per batch.
+     *
+     * Every step can be repeated without effect, as events may be delivered more than once.
+     *
+     * @param event The changes relayed from the student outbox.
+     */
+    @EventListener
+    public void onStudentsChanged(StudentChangeEvent event) {
+        Map<String, StudentDto> updated = new HashMap<>();
+        List<String> created = new ArrayList<>();
+        Set<String> tags = new LinkedHashSet<>();
+        for (StudentChangeEvent.Change change : event.getChanges()) {
+            Long id = change.getStudentId();
+            switch (change.getType()) {
+                case CREATED -> {
+                    created.add(getAbsentKey(id));
+                    tags.add(getNameTag(change.getStudent().getName()));
+                }
+                case UPDATED -> {
+                    updated.put(getStudentKey(id), change.getStudent());
+                    tags.add(getStudentTag(id));
+                    tags.add(getNameTag(change.getStudent().getName()));
+                }
+                case DELETED -> {
+                    String key = getStudentKey(id);
+                    updated.remove(key);
+                    redisGenericService.deleteBucket(key);
+                    redisGenericService.publishInvalidation(key);
+                    redisGenericService.markAbsent(getAbsentKey(id), negativeCacheTtl);
+                    tags.add(getStudentTag(id));
+                }
+            }
+        }
+        redisGenericService.getBuckets(updated.keySet()).forEach((key, cached) -> {
+            Long version = updated.get(key).getVersion();
+            if (version == null || cached.getVersion() == null || cached.getVersion() < version) {
+                redisGenericService.deleteBucket(key);
+                redisGenericService.publishInvalidation(key);
+            }
+        });
+        if (!created.isEmpty()) {
+            redisGenericService.clearAbsent(created);
+        }
+        if (!tags.isEmpty()) {
+            redisGenericService.invalidateTags(tags);
+        }
+    }
+
     /**
      * Retrieves a list of student information based on specified criteria.
      * 
      * This method fetches student data from the studentService, applies pagination,
-     * and optionally filters by name. The retrieved Student objects are then
-     * converted to StudentDto objects for data transfer.
+     * and optionally filters by name. A name filter is first resolved to the matching
+     * student IDs through the in-memory name index, so that only those rows are read;
+     * when the index cannot answer, the filter is applied by the database instead.
+     * The retrieved Student objects are then converted to StudentDto objects for data transfer.
      *
      * @param limit The maximum number of students to retrieve.
      * @param offset The number of students to skip before starting to collect the result set.
@@ -178,10 +929,133 @@ public class StudentFacadeImpl implements StudentFacade {
      * @return A List of StudentDto objects containing the requested student information.
      */
     public List<StudentDto> getAllStudentsInfo(Integer limit,Integer offset, String name) {
-        List<Student> students = studentService.getAllStudentsInfo(limit, offset, name);
+        List<Long> matchingIds = name == null || name.isEmpty() ? null : studentNameIndex.findIdsByName(name);
+        List<Student> students;
+        if (matchingIds == null) {
+            students = studentService.getAllStudentsInfo(limit, offset, name);
+        } else if (matchingIds.isEmpty()) {
+            students = List.of();
+        } else {
+            students = studentService.getStudentsInfoByIds(limit, offset, matchingIds);
+        }
         List<StudentDto> studentDtos = students.stream().map((s) -> {
             return StudentMapper.toDto(s);
         }).collect(Collectors.toList());
         return studentDtos;
     }
+
+    /**
+     * Retrieves one page of student information using an opaque continuation cursor.
+     * 
+     * This method is the cursor mode of getAllStudentsInfo. One extra row is requested to find out
+     * whether another page follows, and if so the returned page carries the cursor to fetch it with.
+     *
+     * @param limit The maximum number of students to retrieve.
+     * @param cursor The nextCursor of the previous page, or null or empty for the first page.
+     * @param name An optional parameter to filter students by name. If empty, all students are considered.
+     * @return A StudentPage holding the students of this page and the cursor of the next page,
+     *         which is null when this is the last page.
+     */
+    public StudentPage getAllStudentsInfo(Integer limit, String cursor, String name) {
+        CursorMapper.Cursor position = cursor == null || cursor.isEmpty() ? null : CursorMapper.decode(cursor);
+        int pageSize = Math.max(limit, 1);
+        List<Student> students = studentService.getStudentsPage(pageSize + 1, position, name);
+        String nextCursor = null;
+        if (students.size() > pageSize) {
+            students = students.subList(0, pageSize);
+            nextCursor = CursorMapper.encode(students.get(pageSize - 1));
+        }
+        List<StudentDto> studentDtos = students.stream().map((s) -> {
+            return StudentMapper.toDto(s);
+        }).collect(Collectors.toList());
+        return new StudentPage(studentDtos, nextCursor);
+    }
+
+    /**
+     * Writes the information of every student to the given output stream.
+     * 
+     * This method streams the whole student table straight from the database to the output,
+     * without holding more than one row in memory at a time.
+     *
+     * @param format The format to write, either NDJSON (one JSON object per line) or CSV.
+     * @param out The stream to write the export to.
+     * @throws IOException If writing to the output stream fails.
+     */
+    public void exportStudents(ExportFormat format, OutputStream out) throws IOException {
+        studentExportService.export(format, out);
+    }
+
+    /**
+     * Retrieves the number of students per class and per age.
+     * 
+     * This method reads counters that are maintained incrementally as students are added,
+     * updated and deleted, so it does not touch the student table and takes the same time
+     * no matter how many students there are.
+     *
+     * @return A StudentStats object with the total number of students and their distribution over
+     *         classes and ages.
+     */
+    public StudentStats getStudentStats() {
+        return timed("getStudentStats", studentStatsService::getStats);
+    }
+
+    /**
+     * Asynchronous form of getStudentStats, used by StudentAsyncFacadeImpl. The counters are read
+     * without blocking the calling thread.
+     *
+     * @return A future of the StudentStats object.
+     */
+    CompletableFuture<StudentStats> getStudentStatsAsync() {
+        return timedAsync("getStudentStats", studentStatsService::getStatsAsync);
+    }
+
+    private void countRequest(String namespace, boolean hit) {
+        meterRegistry.counter(CACHE_REQUESTS, "namespace", namespace, "result", hit ? "hit" : "miss").increment();
+    }
+
+    private void countLoad(String namespace) {
+        meterRegistry.counter(CACHE_LOADS, "namespace", namespace).increment();
+    }
+
+    /**
+     * Runs one facade operation and records its end-to-end latency, including cache and database time.
+     * The timers publish the 50th, 95th and 99th percentiles and a histogram, so that SLOs can be
+     * computed across instances from the Prometheus buckets.
+     *
+     * @param operation The name of the facade operation, used as the "operation" tag of the timer.
+     * @param call The operation.
+     * @return The result of the operation.
+     */
+    private <R> R timed(String operation, Supplier<R> call) {
+        Timer timer = latencyTimer(operation);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return call.get();
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    /**
+     * Same as timed for an asynchronous operation, the latency is recorded when its future completes.
+     */
+    private <R> CompletableFuture<R> timedAsync(String operation, Supplier<CompletableFuture<R>> call) {
+        Timer timer = latencyTimer(operation);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<R> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, e) -> sample.stop(timer));
+    }
+
+    private Timer latencyTimer(String operation) {
+        return latencyTimers.computeIfAbsent(operation, (o) -> Timer.builder(FACADE_LATENCY)
+                .tag("operation", o)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
 }
@@ -0,0 +1,35 @@
+package com.synchrony.assignment.studentmanagement.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads an age given either as a JSON number or, as API clients did while the age was a string
+ * column, as a string holding a whole number such as "15" or " 15 ".
+ */
+public class AgeDeserializer extends StdDeserializer<Integer> {
+
+    public AgeDeserializer() {
+        super(Integer.class);
+    }
+
+    @Override
+    public Integer deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        String text = parser.getValueAsString();
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(text.trim());
+        } catch (NumberFormatException e) {
+            return (Integer) context.handleWeirdStringValue(Integer.class, text, "age must be a whole number");
+        }
+    }
+}
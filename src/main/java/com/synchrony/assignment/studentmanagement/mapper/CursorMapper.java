@@ -0,0 +1,45 @@
+package com.synchrony.assignment.studentmanagement.mapper;
+
+import com.synchrony.assignment.studentmanagement.exception.InvalidCursorException;
+import com.synchrony.assignment.studentmanagement.model.Student;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation tokens used by keyset pagination.
+ * A token identifies the last row of a page by its (updated_at, id) position.
+ */
+public class CursorMapper {
+
+    @Data
+    @AllArgsConstructor
+    public static class Cursor {
+        private LocalDateTime updatedAt;
+        private Long id;
+    }
+
+    public static String encode(Student student) {
+        LocalDateTime updatedAt = student.getUpdatedAt();
+        String raw = updatedAt.toEpochSecond(ZoneOffset.UTC) + "." + updatedAt.getNano() + ":" + student.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idSeparator = raw.indexOf(':');
+            int nanoSeparator = raw.indexOf('.');
+            long epochSecond = Long.parseLong(raw.substring(0, nanoSeparator));
+            int nanos = Integer.parseInt(raw.substring(nanoSeparator + 1, idSeparator));
+            Long id = Long.parseLong(raw.substring(idSeparator + 1));
+            return new Cursor(LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
+    }
+}
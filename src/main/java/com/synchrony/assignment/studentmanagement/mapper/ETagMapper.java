@@ -0,0 +1,37 @@
+package com.synchrony.assignment.studentmanagement.mapper;
+
+import com.synchrony.assignment.studentmanagement.exception.StudentVersionConflictException;
+
+/**
+ * Converts between student versions and the strong entity tags sent in ETag and If-Match headers.
+ * A tag is the version in quotes, e.g. "3".
+ */
+public class ETagMapper {
+
+    public static String toETag(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the expected version from an If-Match header.
+     *
+     * @param ifMatch The If-Match header value, or null if the header was not sent.
+     * @return The version the client expects, or null if any version is acceptable.
+     * @throws StudentVersionConflictException If the header is not a strong tag of a version,
+     *         as such a tag can never match the current one.
+     */
+    public static Long toExpectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        try {
+            if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                throw new NumberFormatException(tag);
+            }
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new StudentVersionConflictException("If-Match does not match the current version of the student");
+        }
+    }
+}
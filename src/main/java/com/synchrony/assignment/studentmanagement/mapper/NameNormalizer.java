@@ -0,0 +1,23 @@
+package com.synchrony.assignment.studentmanagement.mapper;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes student names the way the database compares them with its default accent and case
+ * insensitive collation, so that e.g. "José" and "JOSE" normalize to the same "jose".
+ */
+public class NameNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        // NFD splits accented letters into the base letter and combining marks, which are then dropped
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return withoutAccents.toLowerCase(Locale.ROOT);
+    }
+}
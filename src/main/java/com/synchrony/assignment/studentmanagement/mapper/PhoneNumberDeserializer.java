@@ -0,0 +1,37 @@
+package com.synchrony.assignment.studentmanagement.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads a phone number given either as a JSON number or as a string. Separators commonly used
+ * when writing phone numbers (spaces, dashes, dots, parentheses and a leading plus sign) are
+ * dropped from strings, so "+1 (555) 010-0199" is read as 15550100199.
+ */
+public class PhoneNumberDeserializer extends StdDeserializer<Long> {
+
+    public PhoneNumberDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        String text = parser.getValueAsString();
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String digits = text.trim().replaceFirst("^\\+", "").replaceAll("[\\s().-]", "");
+        try {
+            return Long.valueOf(digits);
+        } catch (NumberFormatException e) {
+            return (Long) context.handleWeirdStringValue(Long.class, text, "phone number must only contain digits and separators");
+        }
+    }
+}
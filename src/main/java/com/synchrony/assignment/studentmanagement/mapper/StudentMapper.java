@@ -21,6 +21,7 @@ public class StudentMapper {
         s.setAge(student.getAge());
         s.setStudentClass(student.getStudentClass());
         s.setPhoneNumber(student.getPhoneNumber());
+        s.setVersion(student.getVersion());
         return s;
     }
 
@@ -0,0 +1,82 @@
+package com.synchrony.assignment.studentmanagement.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Backfill: copies age and phone_number into the numeric columns added by V2.
+ *
+ * It runs after V3 installed the dual-write triggers, so rows written by nodes of the previous
+ * release while or after it runs are converted by the triggers, and rows written before are
+ * converted here. The table is walked in ranges of IDs, each updated and committed on its own,
+ * so row locks are only held for one small range at a time instead of for the whole table. Rows
+ * that were already converted are skipped, so the backfill can be run again after a failure.
+ *
+ * Ages that are not a whole number and phone numbers that do not fit a BIGINT are left NULL. If
+ * any remain, the migration fails, so that they can be corrected by hand, after which the
+ * migration is repaired and run again. The old columns are only dropped in a later release.
+ */
+@Slf4j
+public class V4__BackfillCompactAgeAndPhone extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 5000;
+
+    private static final String ID_RANGE_SQL = "SELECT COALESCE(MIN(id), 0), COALESCE(MAX(id), 0) FROM student";
+
+    private static final String BACKFILL_SQL = "UPDATE student SET " +
+            "age_years = CASE WHEN TRIM(age) REGEXP '^[0-9]{1,4}$' AND CAST(TRIM(age) AS UNSIGNED) <= 32767 " +
+            "THEN CAST(TRIM(age) AS UNSIGNED) END, " +
+            "phone = CASE WHEN phone_number BETWEEN 0 AND 9223372036854775807 THEN CAST(phone_number AS SIGNED) END " +
+            "WHERE id > ? AND id <= ? AND (age_years IS NULL OR phone IS NULL)";
+
+    private static final String UNCONVERTED_SQL = "SELECT COUNT(*) FROM student WHERE age_years IS NULL OR phone IS NULL";
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try {
+            long minId;
+            long maxId;
+            try (Statement statement = connection.createStatement(); ResultSet range = statement.executeQuery(ID_RANGE_SQL)) {
+                range.next();
+                minId = range.getLong(1);
+                maxId = range.getLong(2);
+            }
+            long converted = 0;
+            try (PreparedStatement backfill = connection.prepareStatement(BACKFILL_SQL)) {
+                for (long from = minId - 1; from < maxId; from += BATCH_SIZE) {
+                    backfill.setLong(1, from);
+                    backfill.setLong(2, from + BATCH_SIZE);
+                    converted += backfill.executeUpdate();
+                }
+            }
+            log.info("Backfilled numeric age and phone number of {} students", converted);
+
+            try (Statement statement = connection.createStatement(); ResultSet unconverted = statement.executeQuery(UNCONVERTED_SQL)) {
+                unconverted.next();
+                long count = unconverted.getLong(1);
+                if (count > 0) {
+                    throw new FlywayException(count + " students have an age that is not a whole number or a phone number that does not fit "
+                            + "a BIGINT. Correct them, run flyway repair and start the application again");
+                }
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
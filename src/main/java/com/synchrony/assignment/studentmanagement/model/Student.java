@@ -5,12 +5,13 @@ import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "student")
+@Table(name = "student", indexes = {
+        @Index(name = "idx_student_updated_at_id", columnList = "updatedAt, id")
+})
 public class Student {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,18 +20,24 @@ public class Student {
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false)
-    private String age;
+    // Mapped to the numeric columns added next to the old string ones, see the V2 to V4 migrations
+    @Column(name = "age_years", nullable = false, columnDefinition = "SMALLINT")
+    private Integer age;
 
     @Column(nullable = false)
     private String studentClass;
 
-    @Column(nullable = false)
-    private BigInteger phoneNumber;
+    @Column(name = "phone", nullable = false)
+    private Long phoneNumber;
 
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // Incremented by every update, exposed to clients as the ETag of the student
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
 }
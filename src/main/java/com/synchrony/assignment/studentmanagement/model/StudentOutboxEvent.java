@@ -0,0 +1,40 @@
+package com.synchrony.assignment.studentmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change of a student that has been committed but not yet relayed to the caches and indexes.
+ * Rows are written in the same transaction as the change itself and deleted once relayed.
+ */
+@Data
+@Entity
+@Table(name = "student_outbox")
+public class StudentOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long studentId;
+
+    @Column(nullable = false, length = 16)
+    private String eventType;
+
+    // The student after the change as JSON, null for deletions
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    // The age, class and version of the student before the change as JSON, null for creations
+    @Column(columnDefinition = "TEXT")
+    private String previousPayload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // The number of times relaying this event on its own has failed
+    @Column(nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int attempts;
+}
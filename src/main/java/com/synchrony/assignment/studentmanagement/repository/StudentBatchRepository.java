@@ -0,0 +1,130 @@
+package com.synchrony.assignment.studentmanagement.repository;
+
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.model.Student;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch operations for the student table.
+ *
+ * Student IDs are generated with IDENTITY, which makes Hibernate fall back to one INSERT per
+ * entity. Bulk paths go through JdbcTemplate instead, so that a whole chunk is sent as a single
+ * JDBC batch (rewritten into a multi-row INSERT by the MySQL driver).
+ */
+@Repository
+public class StudentBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO student (name, age_years, student_class, phone, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    // Takes the version the write-behind pipeline assigned to the update, unless the row is already at
+    // or past it after a synchronous update, so that a version is never handed out twice
+    private static final String UPDATE_SQL = "UPDATE student SET name = ?, age_years = ?, student_class = ?, phone = ?, updated_at = ?, " +
+            "version = GREATEST(COALESCE(?, 0), version + 1) WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all given students in one JDBC batch and one transaction, and assigns the
+     * generated IDs and timestamps back onto the given entities.
+     *
+     * @param students The students to insert.
+     * @return The number of inserted rows.
+     */
+    @Transactional
+    public int insertAll(List<Student> students) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int[] counts = jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Student student = students.get(i);
+                        ps.setString(1, student.getName());
+                        ps.setInt(2, student.getAge());
+                        ps.setString(3, student.getStudentClass());
+                        ps.setLong(4, student.getPhoneNumber());
+                        ps.setTimestamp(5, timestamp);
+                        ps.setTimestamp(6, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return students.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < students.size() && i < keys.size(); i++) {
+            Student student = students.get(i);
+            student.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            student.setCreatedAt(now);
+            student.setUpdatedAt(now);
+            student.setVersion(0L);
+        }
+        int inserted = 0;
+        for (int count : counts) {
+            // The driver reports SUCCESS_NO_INFO (-2) for rewritten multi-row inserts
+            inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+        }
+        return inserted;
+    }
+
+    /**
+     * Updates all given students in one JDBC batch and one transaction. Students that no longer
+     * exist are skipped by the database.
+     *
+     * @param students The new information of the students, identified by their IDs.
+     * @return The students whose row was updated, in the given order.
+     */
+    @Transactional
+    public List<StudentDto> updateAll(List<StudentDto> students) {
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StudentDto student = students.get(i);
+                ps.setString(1, student.getName());
+                ps.setInt(2, student.getAge());
+                ps.setString(3, student.getStudentClass());
+                ps.setLong(4, student.getPhoneNumber());
+                ps.setTimestamp(5, timestamp);
+                ps.setObject(6, student.getVersion(), Types.BIGINT);
+                ps.setLong(7, student.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return students.size();
+            }
+        });
+        List<StudentDto> updated = new ArrayList<>(students.size());
+        for (int i = 0; i < counts.length; i++) {
+            // Rewritten updates are sent as one multi-statement query, which reports every count
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                updated.add(students.get(i));
+            }
+        }
+        return updated;
+    }
+}
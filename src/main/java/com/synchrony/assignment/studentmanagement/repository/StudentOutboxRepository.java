@@ -0,0 +1,97 @@
+package com.synchrony.assignment.studentmanagement.repository;
+
+import com.synchrony.assignment.studentmanagement.model.StudentOutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access to the student_outbox table.
+ *
+ * Events are appended in one batch with the connection of the surrounding transaction, so they
+ * are committed or rolled back together with the change they describe.
+ */
+@Repository
+public class StudentOutboxRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO student_outbox (student_id, event_type, payload, previous_payload, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SQL = "SELECT id, student_id, event_type, payload, previous_payload, created_at, attempts " +
+            "FROM student_outbox ORDER BY id LIMIT ?";
+
+    private static final String DELETE_SQL = "DELETE FROM student_outbox WHERE id IN (:ids)";
+
+    private static final String INCREMENT_ATTEMPTS_SQL = "UPDATE student_outbox SET attempts = attempts + 1 WHERE id = ?";
+
+    private static final String DEAD_LETTER_SQL = "INSERT INTO student_outbox_dead_letter " +
+            "(id, student_id, event_type, payload, previous_payload, created_at, attempts, failed_at, error) " +
+            "SELECT id, student_id, event_type, payload, previous_payload, created_at, attempts + 1, ?, ? FROM student_outbox WHERE id = ?";
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void append(List<StudentOutboxEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getStudentId());
+            ps.setString(2, event.getEventType());
+            ps.setString(3, event.getPayload());
+            ps.setString(4, event.getPreviousPayload());
+            ps.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+
+    /**
+     * Reads the oldest events that have not been relayed yet.
+     *
+     * @param limit The maximum number of events to read.
+     * @return The events in the order they were appended.
+     */
+    public List<StudentOutboxEvent> findOldest(int limit) {
+        return jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            StudentOutboxEvent event = new StudentOutboxEvent();
+            event.setId(rs.getLong("id"));
+            event.setStudentId(rs.getLong("student_id"));
+            event.setEventType(rs.getString("event_type"));
+            event.setPayload(rs.getString("payload"));
+            event.setPreviousPayload(rs.getString("previous_payload"));
+            event.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+            event.setAttempts(rs.getInt("attempts"));
+            return event;
+        }, limit);
+    }
+
+    public int deleteAll(List<Long> ids) {
+        return namedParameterJdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+    }
+
+    public void incrementAttempts(Long id) {
+        jdbcTemplate.update(INCREMENT_ATTEMPTS_SQL, id);
+    }
+
+    /**
+     * Moves an event that cannot be relayed to the dead letter table, where it is kept for
+     * inspection and no longer holds back the events behind it.
+     *
+     * @param id The ID of the event.
+     * @param error The reason the event could not be relayed.
+     */
+    @Transactional
+    public void moveToDeadLetter(Long id, String error) {
+        String truncated = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        jdbcTemplate.update(DEAD_LETTER_SQL, Timestamp.valueOf(LocalDateTime.now()), truncated, id);
+        deleteAll(List.of(id));
+    }
+}
@@ -1,21 +1,30 @@
 package com.synchrony.assignment.studentmanagement.repository;
 
 import com.synchrony.assignment.studentmanagement.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends CrudRepository<Student, Long> {
     @Query("SELECT s FROM Student s WHERE s.name = :name order by updatedAt asc")
     List<Student> findByNameContaining(@Param("name") String name);
 
+    @Query("SELECT s FROM Student s WHERE s.id IN :ids")
+    List<Student> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM Student s WHERE s.id = :id")
@@ -24,14 +33,65 @@ public interface StudentRepository extends CrudRepository<Student, Long> {
     @Transactional
     @Modifying
     @Query("UPDATE Student s SET s.name = :name, s.age = :age, s.studentClass = :studentClass, " +
-            "s.phoneNumber = :phoneNumber, s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :id")
+            "s.phoneNumber = :phoneNumber, s.updatedAt = CURRENT_TIMESTAMP, s.version = s.version + 1 WHERE s.id = :id")
     int updateById(@Param("name") String name,
-                       @Param("age") String age,
+                       @Param("age") Integer age,
                        @Param("studentClass") String studentClass,
-                       @Param("phoneNumber") BigInteger phoneNumber,
+                       @Param("phoneNumber") Long phoneNumber,
                        @Param("id") Long id);
 
+    @Transactional
+    @Modifying
+    @Query("UPDATE Student s SET s.name = :name, s.age = :age, s.studentClass = :studentClass, " +
+            "s.phoneNumber = :phoneNumber, s.updatedAt = CURRENT_TIMESTAMP, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.version = :version")
+    int updateByIdAndVersion(@Param("name") String name,
+                             @Param("age") Integer age,
+                             @Param("studentClass") String studentClass,
+                             @Param("phoneNumber") Long phoneNumber,
+                             @Param("id") Long id,
+                             @Param("version") Long version);
+
 
     @Query(value = "SELECT * FROM student s WHERE LOWER(name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY updated_at DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
     List<Student> findAllStudentsInfo(Integer limit,Integer offset, String name);
+
+    @Query(value = "SELECT * FROM student s WHERE id IN (:ids) ORDER BY updated_at DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Student> findAllStudentsInfoByIds(Integer limit, Integer offset, Collection<Long> ids);
+
+    // Integer.MIN_VALUE makes the MySQL driver stream rows one at a time instead of buffering the result set
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Student s ORDER BY s.id")
+    Stream<Student> streamAll();
+
+    @Query("SELECT COALESCE(MAX(s.id), 0) FROM Student s")
+    Long findMaxId();
+
+    @Query("SELECT s.id FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT s.id, s.name FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findIdAndNameAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(value = "SELECT id FROM student ORDER BY updated_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Long> findRecentlyUpdatedIds(Integer limit);
+
+    @Query("SELECT s.studentClass, s.age, COUNT(s) FROM Student s GROUP BY s.studentClass, s.age")
+    List<Object[]> countByStudentClassAndAge();
+
+    // Locks the rows until the end of the transaction, so that the values read are the ones the following write replaces
+    @Query(value = "SELECT id, age_years, student_class, version FROM student WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<Object[]> findAgeClassAndVersionForUpdate(Collection<Long> ids);
+
+    @Query(value = "SELECT * FROM student s WHERE LOWER(name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "ORDER BY updated_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Student> findFirstStudentsPage(Integer limit, String name);
+
+    @Query(value = "SELECT * FROM student s WHERE LOWER(name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "AND (updated_at < :updatedAt OR (updated_at = :updatedAt AND id < :id)) " +
+            "ORDER BY updated_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Student> findStudentsPageAfter(Integer limit, LocalDateTime updatedAt, Long id, String name);
 }
@@ -0,0 +1,53 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts how often each key is read within a fixed time window, to tell hot keys from cold ones.
+ *
+ * All counts are dropped when a window ends, so a key is only hot while it keeps being read.
+ * At most the configured number of keys are tracked per window, keys read after that count as
+ * cold until the next window, which bounds the memory used under a scan of many distinct keys.
+ */
+public class AccessTracker {
+
+    private final int maxKeys;
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final AtomicLong windowStart;
+    private volatile ConcurrentHashMap<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    public AccessTracker(int maxKeys, long windowNanos, LongSupplier clock) {
+        this.maxKeys = maxKeys;
+        this.windowNanos = windowNanos;
+        this.clock = clock;
+        this.windowStart = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Records one read of a key.
+     *
+     * @param key The key that was read.
+     * @return The number of reads of the key in the current window, including this one, or 0 if
+     *         the key is not tracked because the tracker is full.
+     */
+    public int recordAccess(String key) {
+        long now = clock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            counts = new ConcurrentHashMap<>();
+        }
+        ConcurrentHashMap<String, AtomicInteger> current = counts;
+        AtomicInteger count = current.get(key);
+        if (count == null) {
+            if (current.size() >= maxKeys) {
+                return 0;
+            }
+            count = current.computeIfAbsent(key, (k) -> new AtomicInteger());
+        }
+        return count.incrementAndGet();
+    }
+}
@@ -0,0 +1,85 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to the observed latency, with additive increase and
+ * multiplicative decrease (AIMD).
+ *
+ * Every call that completes within the latency threshold while the limit is in use raises the
+ * limit by 1/limit, so the limit grows by about one per round of calls. A call that is slower
+ * than the threshold, or that fails, lowers the limit by the backoff ratio, at most once per
+ * threshold period so that one burst of slow calls does not collapse the limit.
+ *
+ * LOW priority calls may only use a share of the limit, so that once the database slows down
+ * they are rejected while HIGH priority calls still get through. Calls over the limit are
+ * rejected right away instead of waiting.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final double lowPriorityShare;
+    private final LongSupplier clock;
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                                      double backoffRatio, double lowPriorityShare, LongSupplier clock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.lowPriorityShare = lowPriorityShare;
+        this.clock = clock;
+        this.lastDecreaseNanos = clock.getAsLong() - latencyThresholdNanos;
+    }
+
+    /**
+     * Takes a permit for one call if the limit for the given priority allows it.
+     *
+     * @param priority The priority of the call.
+     * @return true if the call may proceed, in which case release must be called once it completes.
+     */
+    public synchronized boolean tryAcquire(RequestPriority priority) {
+        double allowed = priority == RequestPriority.HIGH ? limit : Math.max(limit * lowPriorityShare, 1);
+        if (inFlight >= allowed) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Returns the permit of a completed call and adapts the limit to its outcome.
+     *
+     * @param latencyNanos How long the call took.
+     * @param failed Whether the call failed in a way that indicates overload, e.g. a timeout.
+     */
+    public synchronized void release(long latencyNanos, boolean failed) {
+        inFlight--;
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            long now = clock.getAsLong();
+            if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                limit = Math.max(limit * backoffRatio, minLimit);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlight + 1 >= limit / 2) {
+            // Only grow while the limit is actually in use, an idle service says nothing about capacity
+            limit = Math.min(limit + 1 / limit, maxLimit);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
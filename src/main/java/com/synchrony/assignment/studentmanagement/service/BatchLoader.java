@@ -0,0 +1,114 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Coalesces concurrent single-key loads into batches, in the manner of a DataLoader.
+ *
+ * The first key requested after a batch was dispatched opens a new batch, which collects every
+ * key requested within the window and is then resolved with one call of the batch function.
+ * A batch that reaches the maximum size is dispatched on the executor right away, so a caller
+ * composing on the returned future never runs the batch function itself.
+ * Requests for a key that is already in the open batch share its future.
+ *
+ * Keys the batch function does not return complete with null. If the batch function fails,
+ * every future of the batch completes with its exception, and so does the future of a key whose
+ * batch could not be scheduled, for example because the executor has been shut down.
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<List<K>, Map<K, V>> batchFunction;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final ScheduledExecutorService executor;
+    private final IntConsumer batchSizeListener;
+
+    private Map<K, CompletableFuture<V>> open = new LinkedHashMap<>();
+
+    /**
+     * @param batchFunction Loads the values of a list of distinct keys, returning only the keys that exist.
+     * @param maxBatchSize The number of keys at which a batch is dispatched before its window has ended.
+     * @param windowNanos How long a batch collects keys.
+     * @param executor Runs the batches whose window has ended.
+     * @param batchSizeListener Receives the size of every dispatched batch.
+     */
+    public BatchLoader(Function<List<K>, Map<K, V>> batchFunction, int maxBatchSize, long windowNanos,
+                       ScheduledExecutorService executor, IntConsumer batchSizeListener) {
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.windowNanos = windowNanos;
+        this.executor = executor;
+        this.batchSizeListener = batchSizeListener;
+    }
+
+    public CompletableFuture<V> load(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        RejectedExecutionException rejected = null;
+        CompletableFuture<V> future;
+        synchronized (this) {
+            future = open.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            open.put(key, future);
+            if (open.size() >= maxBatchSize) {
+                full = open;
+                open = new LinkedHashMap<>();
+            } else if (open.size() == 1) {
+                Map<K, CompletableFuture<V>> batch = open;
+                try {
+                    executor.schedule(() -> dispatchIfOpen(batch), windowNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Nothing would ever dispatch the batch, which only holds this key so far
+                    open = new LinkedHashMap<>();
+                    rejected = e;
+                }
+            }
+        }
+        if (rejected != null) {
+            future.completeExceptionally(rejected);
+        } else if (full != null) {
+            dispatchNow(full);
+        }
+        return future;
+    }
+
+    private void dispatchNow(Map<K, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> dispatch(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach((future) -> future.completeExceptionally(e));
+        }
+    }
+
+    private void dispatchIfOpen(Map<K, CompletableFuture<V>> batch) {
+        synchronized (this) {
+            // The batch was already dispatched because it became full
+            if (open != batch) {
+                return;
+            }
+            open = new LinkedHashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batchSizeListener.accept(batch.size());
+        try {
+            Map<K, V> values = batchFunction.apply(new ArrayList<>(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (RuntimeException e) {
+            batch.values().forEach((future) -> future.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over long values, answering "has this value possibly been added".
+ *
+ * A negative answer is always correct, a positive answer is wrong with a probability that
+ * depends on how full the filter is. Values cannot be removed, so the filter is rebuilt from
+ * scratch to forget removed values. Every value sets k bits chosen by double hashing of two
+ * mixes of the value.
+ *
+ * This class is thread-safe, bits are set with compare-and-set so concurrent puts and lookups
+ * need no lock.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong setBits = new AtomicLong();
+
+    /**
+     * Creates a filter sized for the given number of values and false-positive probability.
+     *
+     * @param expectedValues The number of values the filter is expected to hold.
+     * @param falsePositiveProbability The false-positive probability at that number of values.
+     */
+    public BloomFilter(long expectedValues, double falsePositiveProbability) {
+        long values = Math.max(expectedValues, 1);
+        long bits = (long) Math.ceil(-values * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max((bits + 63) / 64, 1);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max((int) Math.round((double) bitCount / values * Math.log(2)), 1);
+    }
+
+    public void put(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1 ^ value) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+            if ((current & mask) == 0) {
+                setBits.incrementAndGet();
+            }
+        }
+    }
+
+    public boolean mightContain(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1 ^ value) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false-positive probability from the fraction of bits that are set.
+     *
+     * @return The probability that mightContain returns true for a value that was never added.
+     */
+    public double expectedFalsePositiveProbability() {
+        return Math.pow((double) setBits.get() / bitCount, hashCount);
+    }
+
+    // The finalizer of MurmurHash3, spreads every input bit over the whole result
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
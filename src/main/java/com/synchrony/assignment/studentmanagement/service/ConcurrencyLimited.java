@@ -0,0 +1,16 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a unit of database work that has to be admitted by the concurrency limiter, see
+ * DatabaseConcurrencyLimiter. The call is admitted once, before its transaction starts, and
+ * holds its place until the transaction has completed.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+}
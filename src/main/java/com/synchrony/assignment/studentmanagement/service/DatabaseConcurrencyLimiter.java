@@ -0,0 +1,91 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits units of database work, the methods annotated with ConcurrencyLimited, through the
+ * adaptive concurrency limiter.
+ *
+ * It runs in front of the transaction, see ConcurrencyLimitConfig, so a call over the limit is
+ * rejected before a connection is taken from the pool and before any statement has run. A
+ * transaction is therefore never cut short by the limiter, and the latency the limit adapts to
+ * is the one of the whole unit of work, commit included.
+ */
+@Component
+public class DatabaseConcurrencyLimiter implements MethodInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${student.limiter.enabled:true}")
+    private boolean limiterEnabled;
+
+    @Value("${student.limiter.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${student.limiter.min-limit:4}")
+    private int minLimit;
+
+    @Value("${student.limiter.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${student.limiter.latency-threshold-ms:250}")
+    private long latencyThresholdMillis;
+
+    @Value("${student.limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${student.limiter.low-priority-share:0.5}")
+    private double lowPriorityShare;
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @PostConstruct
+    public void init() {
+        if (!limiterEnabled) {
+            return;
+        }
+        limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis),
+                backoffRatio, lowPriorityShare, System::nanoTime);
+        meterRegistry.gauge("student.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("student.limiter.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight);
+    }
+
+    /**
+     * Runs one unit of database work if the limit for the priority of the current thread allows it.
+     *
+     * @throws ServiceOverloadedException If the concurrency limit for the current priority is reached.
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (limiter == null) {
+            return invocation.proceed();
+        }
+        RequestPriority priority = RequestPriority.current();
+        if (!limiter.tryAcquire(priority)) {
+            meterRegistry.counter("student.limiter.rejected", "priority", priority.name()).increment();
+            throw new ServiceOverloadedException("The service is overloaded, please retry later");
+        }
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            return invocation.proceed();
+        } catch (DataAccessException | TransactionException e) {
+            failed = true;
+            throw e;
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.mapper.NameNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case and accent insensitive trigram inverted index answering "which IDs have a value containing
+ * this text".
+ *
+ * Every value is normalized the way the database compares names, see NameNormalizer, and split
+ * into its overlapping three character grams. Each gram maps to a sorted primitive array of the
+ * IDs whose value contains it. A substring query intersects the posting lists of its own grams
+ * and then verifies the candidates against the stored values, so the result is exact. Queries
+ * shorter than one gram scan the stored values.
+ *
+ * This class is not thread-safe, callers are expected to guard it with a read/write lock.
+ */
+public class NGramIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private final Map<Long, String> values = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    public void put(long id, String value) {
+        remove(id);
+        String normalized = NameNormalizer.normalize(value);
+        values.put(id, normalized);
+        for (long gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, (g) -> new PostingList()).add(id);
+        }
+    }
+
+    public void remove(long id) {
+        String previous = values.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (long gram : grams(previous)) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    public boolean contains(long id) {
+        return values.containsKey(id);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Finds the IDs whose value contains the given text, ignoring case and accents.
+     *
+     * @param text The text to search for.
+     * @param maxMatches The maximum number of matches the caller is willing to handle.
+     * @return The matching IDs in ascending order, or null if there are more than maxMatches.
+     */
+    public long[] search(String text, int maxMatches) {
+        String query = NameNormalizer.normalize(text);
+        if (query.length() < GRAM_SIZE) {
+            return scan(query, maxMatches);
+        }
+        Set<Long> queryGrams = grams(query);
+        List<PostingList> lists = new ArrayList<>(queryGrams.size());
+        for (long gram : queryGrams) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        PostingList smallest = lists.get(0);
+        long[] matches = new long[Math.min(smallest.size, maxMatches + 1)];
+        int count = 0;
+        for (int i = 0; i < smallest.size; i++) {
+            long id = smallest.ids[i];
+            boolean inAll = true;
+            for (int l = 1; l < lists.size() && inAll; l++) {
+                inAll = lists.get(l).contains(id);
+            }
+            // Grams can all be present without being adjacent, so confirm the actual substring
+            if (inAll && values.get(id).contains(query)) {
+                if (count == maxMatches) {
+                    return null;
+                }
+                matches[count++] = id;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private long[] scan(String query, int maxMatches) {
+        long[] matches = new long[Math.min(values.size(), maxMatches + 1)];
+        int count = 0;
+        for (Map.Entry<Long, String> entry : values.entrySet()) {
+            if (entry.getValue().contains(query)) {
+                if (count == maxMatches) {
+                    return null;
+                }
+                matches[count++] = entry.getKey();
+            }
+        }
+        long[] result = Arrays.copyOf(matches, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static Set<Long> grams(String value) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+            grams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * A growable, sorted array of IDs.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            if (ids.length > 8 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, ids.length / 2);
+            }
+            return true;
+        }
+    }
+}
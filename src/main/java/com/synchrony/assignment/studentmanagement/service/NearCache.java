@@ -0,0 +1,82 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process (L1) cache that sits in front of Redis bucket reads.
+ *
+ * Entries are kept in access order and the least recently used entry is evicted once
+ * the configured size limit is reached. Every entry also carries its own expiry so that
+ * a value can never be served locally for longer than the configured time-to-live.
+ */
+public class NearCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    public NearCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > NearCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the locally cached value for the given key, or null if it is absent or expired.
+     *
+     * @param key The cache key.
+     * @return The cached value, or null when the key is not present locally.
+     */
+    public synchronized Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Stores a value locally. Null values are never cached.
+     *
+     * @param key The cache key.
+     * @param value The value to cache.
+     */
+    public synchronized void put(String key, Object value) {
+        if (value == null || maxSize <= 0 || ttlMillis <= 0) {
+            return;
+        }
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public synchronized void evict(String key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
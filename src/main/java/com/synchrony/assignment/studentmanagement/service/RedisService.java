@@ -1,98 +1,900 @@
 package com.synchrony.assignment.studentmanagement.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
 import org.redisson.api.RBucket;
-import org.redisson.api.RKeys;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
 import org.redisson.api.RList;
+import org.redisson.api.RListAsync;
+import org.redisson.api.RLock;
+import org.redisson.api.RScript;
+import org.redisson.api.RSetAsync;
+import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Iterator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
+@Slf4j
 public class RedisService<T> {
 
     @Autowired
     private RedissonClient redissonClient;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final String INVALIDATION_TOPIC = "student_cache_invalidation";
+
+    private static final String LOCK_PREFIX = "lock_";
+
+    private static final String TAG_PREFIX = "tag_";
+
+    private static final int MULTI_KEY_CHUNK_SIZE = 1000;
+
+    // Pushes in chunks, as unpack is limited by the size of the Lua stack
+    static final String REPLACE_LIST_SCRIPT =
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "for i = 2, #ARGV, 1000 do " +
+            "  redis.call('RPUSH', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV))) " +
+            "end " +
+            "if #ARGV > 1 and tonumber(ARGV[1]) > 0 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end " +
+            "return 1";
+
+    private static final String OPERATION_TIMER = "student.redis.operations";
+
+    private static final String ERROR_COUNTER = "student.redis.errors";
+
+    private static final String REFRESH_COUNTER = "student.redis.refresh-ahead";
+
     @Value("${redis.ttl}")
     private Long ttl;
 
-    // RList methods
-    public void saveList(String key, List<T> items) {
-        RList<T> redisList = redissonClient.getList(key);
-        redisList.clear();
-        redisList.addAll(items);
+    @Value("${redis.near-cache.enabled:true}")
+    private boolean nearCacheEnabled;
+
+    @Value("${redis.near-cache.max-size:10000}")
+    private int nearCacheMaxSize;
+
+    @Value("${redis.near-cache.ttl:30}")
+    private Long nearCacheTtl;
+
+    @Value("${redis.stampede.distributed-lock:false}")
+    private boolean distributedLockEnabled;
+
+    @Value("${redis.stampede.lock-wait-ms:2000}")
+    private long lockWaitMillis;
+
+    @Value("${redis.stampede.lock-lease-ms:10000}")
+    private long lockLeaseMillis;
+
+    @Value("${redis.ttl-jitter:0.1}")
+    private double ttlJitter;
+
+    @Value("${redis.refresh-ahead.enabled:true}")
+    private boolean refreshAheadEnabled;
 
+    @Value("${redis.refresh-ahead.threshold:0.2}")
+    private double refreshThreshold;
 
+    @Value("${redis.refresh-ahead.min-accesses:3}")
+    private int refreshMinAccesses;
+
+    @Value("${redis.refresh-ahead.window-seconds:60}")
+    private long accessWindowSeconds;
+
+    @Value("${redis.refresh-ahead.max-tracked-keys:10000}")
+    private int maxTrackedKeys;
+
+    @Value("${redis.refresh-ahead.threads:2}")
+    private int refreshThreads;
+
+    @Value("${redis.refresh-ahead.queue-size:1000}")
+    private int refreshQueueSize;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private AccessTracker accessTracker;
+
+    private ThreadPoolExecutor refreshExecutor;
+
+    private NearCache nearCache;
+
+    private RTopic invalidationTopic;
+
+    @PostConstruct
+    public void init() {
+        // A local entry must never outlive the Redis entry it was read from, even with the shortest jittered TTL
+        long localTtlMillis = TimeUnit.SECONDS.toMillis(nearCacheTtl);
         if (ttl > 0) {
-            redissonClient.getKeys().expire(key, ttl, TimeUnit.SECONDS);
+            localTtlMillis = Math.min(localTtlMillis, (long) (TimeUnit.SECONDS.toMillis(ttl) * (1 - ttlJitter)));
+        }
+        nearCache = new NearCache(nearCacheEnabled ? nearCacheMaxSize : 0, localTtlMillis);
+        invalidationTopic = redissonClient.getTopic(INVALIDATION_TOPIC);
+        invalidationTopic.addListener(String.class, (channel, key) -> nearCache.evict(key));
+        if (refreshAheadEnabled && ttl > 0) {
+            accessTracker = new AccessTracker(maxTrackedKeys, TimeUnit.SECONDS.toNanos(accessWindowSeconds), System::nanoTime);
+            refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(refreshQueueSize), (runnable) -> {
+                        Thread thread = new Thread(runnable, "redis-refresh-ahead");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
         }
     }
 
+    /**
+     * Removes a key from the near cache of every application node, including this one.
+     *
+     * @param key The bucket key whose locally cached copies should be dropped.
+     */
+    public void publishInvalidation(String key) {
+        nearCache.evict(key);
+        record("publish", () -> invalidationTopic.publish(key));
+    }
+
+    // RList methods
+    public void saveList(String key, List<T> items) {
+        // Replace the list and set its expiry atomically in a single round trip
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults().executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+        RListAsync<T> redisList = batch.getList(key);
+        redisList.deleteAsync();
+        if (!items.isEmpty()) {
+            redisList.addAllAsync(items);
+            if (ttl > 0) {
+                redisList.expireAsync(Duration.ofMillis(jitteredTtlMillis()));
+            }
+        }
+        record("saveList", batch::execute);
+    }
+
     public void saveItem(String key, T item) {
         RList<T> redisList = redissonClient.getList(key);
-        redisList.add(item);
+        record("saveItem", () -> redisList.add(item));
     }
 
     public List<T> getList(String key) {
         RList<T> redisList = redissonClient.getList(key);
-        return redisList.readAll();
+        return record("getList", redisList::readAll);
     }
 
     public boolean listExists(String key) {
         RList<Object> redisList = redissonClient.getList(key);
-        return redisList.isExists();
+        return record("listExists", redisList::isExists);
     }
 
     public T getItem(String key, int index) {
         RList<T> redisList = redissonClient.getList(key);
-        return redisList.get(index);
+        return record("getItem", () -> redisList.get(index));
     }
 
     public void deleteItem(String key, int index) {
         RList<T> redisList = redissonClient.getList(key);
-        redisList.remove(index);
+        record("deleteItem", () -> redisList.remove(index));
+    }
+
+    /**
+     * Replaces a list and registers its key under each of the given tags. The tag sets live at
+     * least as long as the entries registered in them.
+     *
+     * The list and its tag sets have different hash tags, so in cluster mode they live in different
+     * slots and cannot be written in one atomic batch. The tags are written first, in one pipelined
+     * batch, and the list only once every tag write succeeded. A failure can leave a tag pointing
+     * to a list that was never written, which is harmless, but never a cached list that no tag
+     * invalidation can reach.
+     *
+     * @param key The list key.
+     * @param items The list items. Empty lists are not stored in Redis.
+     * @param tags The tags the list depends on, see {@link #invalidateTags(Collection)}.
+     */
+    public void saveTaggedList(String key, List<T> items, Collection<String> tags) {
+        saveListTags(key, items, tags);
+        saveList(key, items);
     }
 
-    public int deleteKeysByPattern(String pattern) {
-        RKeys keys = redissonClient.getKeys();
-        Iterator<String> iterator = keys.getKeysByPattern(pattern).iterator();
-        int count = 0;
-        while (iterator.hasNext()) {
-            String key = iterator.next();
-            redissonClient.getKeys().delete(key);
-            count++;
+    /**
+     * Replaces a list only if it is cached, in one script, so that a list invalidated
+     * concurrently, for example by an update of one of its students, is not brought back.
+     *
+     * The items are encoded with the codec of the list, as the script is evaluated with raw bytes
+     * to pass the TTL along with them.
+     *
+     * @param key The list key.
+     * @param items The new list items. An empty list deletes the cached list.
+     * @return true if the list existed and was replaced.
+     */
+    public boolean replaceListIfExists(String key, List<T> items) {
+        Codec codec = redissonClient.getList(key).getCodec();
+        Object[] args = new Object[items.size() + 1];
+        args[0] = String.valueOf(ttl > 0 ? jitteredTtlMillis() : 0).getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < items.size(); i++) {
+            args[i + 1] = encode(codec, items.get(i));
         }
-        return count;
+        RScript script = redissonClient.getScript(ByteArrayCodec.INSTANCE);
+        Long replaced = record("replaceList", () -> script.<Long>eval(key, RScript.Mode.READ_WRITE, REPLACE_LIST_SCRIPT,
+                RScript.ReturnType.INTEGER, List.of(key), args));
+        return replaced != null && replaced == 1;
+    }
+
+    private static byte[] encode(Codec codec, Object value) {
+        ByteBuf encoded;
+        try {
+            encoded = codec.getValueEncoder().encode(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            return ByteBufUtil.getBytes(encoded);
+        } finally {
+            encoded.release();
+        }
+    }
+
+    private void saveListTags(String key, List<T> items, Collection<String> tags) {
+        if (!items.isEmpty() && !tags.isEmpty()) {
+            RBatch batch = redissonClient.createBatch();
+            for (String tag : tags) {
+                RSetAsync<String> tagSet = batch.getSet(TAG_PREFIX + tag, StringCodec.INSTANCE);
+                tagSet.addAsync(key);
+                if (ttl > 0) {
+                    // Outlives every entry registered in it, whatever their jitter
+                    tagSet.expireAsync(Duration.ofMillis((long) (TimeUnit.SECONDS.toMillis(ttl) * (1 + ttlJitter))));
+                }
+            }
+            record("saveListTags", batch::execute);
+        }
+    }
+
+    /**
+     * Deletes every entry registered under any of the given tags, together with the tags.
+     *
+     * This costs two round trips regardless of the number of tags or entries: one pipelined
+     * read of the tag sets and one multi-key delete. No keyspace scan is involved.
+     *
+     * @param tags The tags to invalidate.
+     * @return The number of deleted keys, including the tag sets themselves.
+     */
+    public long invalidateTags(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return 0;
+        }
+        RBatch batch = redissonClient.createBatch();
+        List<RFuture<Set<String>>> members = new ArrayList<>(tags.size());
+        Set<String> keys = new HashSet<>();
+        for (String tag : tags) {
+            members.add(batch.<String>getSet(TAG_PREFIX + tag, StringCodec.INSTANCE).readAllAsync());
+            keys.add(TAG_PREFIX + tag);
+        }
+        record("readTags", batch::execute);
+        members.forEach((future) -> keys.addAll(future.toCompletableFuture().join()));
+        return record("invalidateTags", () -> redissonClient.getKeys().delete(keys.toArray(new String[0])));
     }
 
     // RBucket methods
     public void saveBucket(String key, T value) {
         RBucket<T> bucket = redissonClient.getBucket(key);
-        if (ttl > 0) {
-            bucket.set(value, ttl, TimeUnit.SECONDS);
+        record("saveBucket", () -> {
+            if (ttl > 0) {
+                bucket.set(value, jitteredTtlMillis(), TimeUnit.MILLISECONDS);
+            } else {
+                bucket.set(value);
+            }
+        });
+        nearCache.put(key, value);
+    }
+
+    /**
+     * Replaces a bucket only if it is cached, in one command, so that an entry evicted
+     * concurrently, for example by a delete, is not brought back.
+     *
+     * @param key The bucket key.
+     * @param value The new value.
+     * @return true if the bucket existed and was replaced.
+     */
+    public boolean replaceBucket(String key, T value) {
+        RBucket<T> bucket = redissonClient.getBucket(key);
+        boolean replaced = record("replaceBucket", () -> ttl > 0
+                ? bucket.setIfExists(value, jitteredTtlMillis(), TimeUnit.MILLISECONDS)
+                : bucket.setIfExists(value));
+        if (replaced) {
+            nearCache.put(key, value);
         } else {
-            bucket.set(value);
+            nearCache.evict(key);
         }
+        return replaced;
     }
 
+    @SuppressWarnings("unchecked")
     public T getBucket(String key) {
+        T local = (T) nearCache.get(key);
+        if (local != null) {
+            return local;
+        }
         RBucket<T> bucket = redissonClient.getBucket(key);
-        return bucket.get();
+        T value = record("getBucket", bucket::get);
+        nearCache.put(key, value);
+        return value;
     }
 
     public boolean bucketExists(String key) {
+        if (nearCache.get(key) != null) {
+            return true;
+        }
         RBucket<T> bucket = redissonClient.getBucket(key);
-        return bucket.isExists();
+        return record("bucketExists", bucket::isExists);
     }
 
     public void deleteBucket(String key) {
         RBucket<T> bucket = redissonClient.getBucket(key);
-        bucket.delete();
+        record("deleteBucket", bucket::delete);
+        nearCache.evict(key);
+    }
+
+    /**
+     * Reads many buckets at once. Keys held in the near cache are served locally and the rest
+     * are fetched with MGET, one command per chunk of keys.
+     *
+     * @param keys The bucket keys to read.
+     * @return A map holding only the keys that were found in the cache.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, T> getBuckets(Collection<String> keys) {
+        Map<String, T> found = new HashMap<>();
+        List<String> remote = new ArrayList<>();
+        for (String key : keys) {
+            T local = (T) nearCache.get(key);
+            if (local != null) {
+                found.put(key, local);
+            } else {
+                remote.add(key);
+            }
+        }
+        for (int from = 0; from < remote.size(); from += MULTI_KEY_CHUNK_SIZE) {
+            List<String> chunk = remote.subList(from, Math.min(from + MULTI_KEY_CHUNK_SIZE, remote.size()));
+            Map<String, T> values = record("getBuckets", () -> redissonClient.getBuckets().<T>get(chunk.toArray(new String[0])));
+            values.forEach((key, value) -> {
+                found.put(key, value);
+                nearCache.put(key, value);
+            });
+        }
+        return found;
+    }
+
+    /**
+     * Same as {@link #getBuckets(Collection)}, without blocking the calling thread.
+     *
+     * @param keys The bucket keys to read.
+     * @return A future of a map holding only the keys that were found in the cache.
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Map<String, T>> getBucketsAsync(Collection<String> keys) {
+        Map<String, T> found = new ConcurrentHashMap<>();
+        List<String> remote = new ArrayList<>();
+        for (String key : keys) {
+            T local = (T) nearCache.get(key);
+            if (local != null) {
+                found.put(key, local);
+            } else {
+                remote.add(key);
+            }
+        }
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < remote.size(); from += MULTI_KEY_CHUNK_SIZE) {
+            List<String> chunk = remote.subList(from, Math.min(from + MULTI_KEY_CHUNK_SIZE, remote.size()));
+            chunks.add(recordAsync("getBuckets", redissonClient.getBuckets().<T>getAsync(chunk.toArray(new String[0])))
+                    .thenAccept((values) -> values.forEach((key, value) -> {
+                        found.put(key, value);
+                        nearCache.put(key, value);
+                    })));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).thenApply((done) -> found);
+    }
+
+    /**
+     * Fills many buckets that are not cached yet, each with its own jittered TTL, in one pipelined
+     * batch per chunk of keys. The values are written with SET NX, so a bucket cached meanwhile,
+     * for example by an update, is not overwritten with the value loaded before it, and only the
+     * values that were written are kept in the near cache.
+     *
+     * @param values The bucket values to write, keyed by bucket key.
+     */
+    public void saveBuckets(Map<String, T> values) {
+        saveBucketsIfAbsent("saveBuckets", values).forEach(nearCache::put);
+    }
+
+    /**
+     * Fills many buckets that are not cached yet like saveBuckets, but without keeping them in the
+     * near cache, which only holds what this node actually reads.
+     *
+     * @param values The bucket values to write, keyed by bucket key.
+     * @return The number of buckets that were written.
+     */
+    public int warmBuckets(Map<String, T> values) {
+        return saveBucketsIfAbsent("warmBuckets", values).size();
+    }
+
+    private Map<String, T> saveBucketsIfAbsent(String operation, Map<String, T> values) {
+        Map<String, T> written = new HashMap<>();
+        List<Map.Entry<String, T>> entries = new ArrayList<>(values.entrySet());
+        for (int from = 0; from < entries.size(); from += MULTI_KEY_CHUNK_SIZE) {
+            RBatch batch = redissonClient.createBatch();
+            Map<String, RFuture<Boolean>> results = new HashMap<>();
+            for (Map.Entry<String, T> entry : entries.subList(from, Math.min(from + MULTI_KEY_CHUNK_SIZE, entries.size()))) {
+                RBucketAsync<T> bucket = batch.getBucket(entry.getKey());
+                results.put(entry.getKey(), ttl > 0
+                        ? bucket.setIfAbsentAsync(entry.getValue(), Duration.ofMillis(jitteredTtlMillis()))
+                        : bucket.setIfAbsentAsync(entry.getValue()));
+            }
+            record(operation, batch::execute);
+            results.forEach((key, result) -> {
+                if (Boolean.TRUE.equals(result.toCompletableFuture().join())) {
+                    written.put(key, values.get(key));
+                }
+            });
+        }
+        return written;
+    }
+
+    // Negative cache methods
+
+    /**
+     * Records that the value behind a key does not exist in the primary data source, so that
+     * repeated lookups of it can be answered without querying the primary data source.
+     *
+     * @param key The key of the marker.
+     * @param ttlSeconds How long the marker lives, kept short as the value may be created later.
+     */
+    public void markAbsent(String key, long ttlSeconds) {
+        RBucket<String> marker = redissonClient.getBucket(key, StringCodec.INSTANCE);
+        record("markAbsent", () -> marker.set("1", ttlSeconds, TimeUnit.SECONDS));
+    }
+
+    public boolean isMarkedAbsent(String key) {
+        RBucket<String> marker = redissonClient.getBucket(key, StringCodec.INSTANCE);
+        return record("isMarkedAbsent", marker::isExists);
+    }
+
+    public CompletableFuture<Void> markAbsentAsync(String key, long ttlSeconds) {
+        RBucket<String> marker = redissonClient.getBucket(key, StringCodec.INSTANCE);
+        return recordAsync("markAbsent", marker.setAsync("1", ttlSeconds, TimeUnit.SECONDS));
+    }
+
+    public CompletableFuture<Boolean> isMarkedAbsentAsync(String key) {
+        RBucket<String> marker = redissonClient.getBucket(key, StringCodec.INSTANCE);
+        return recordAsync("isMarkedAbsent", marker.isExistsAsync());
+    }
+
+    public void clearAbsent(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        record("clearAbsent", () -> redissonClient.getKeys().delete(keys.toArray(new String[0])));
+    }
+
+    // Read-through methods
+
+    /**
+     * Returns the cached bucket value for the given key, loading and caching it on a miss.
+     *
+     * A hit costs a single Redis round trip (or none when the near cache has the key).
+     * Concurrent misses for the same key are collapsed so that only one caller per JVM runs
+     * the loader, and when the distributed lock is enabled only one node loads at a time.
+     *
+     * @param key The bucket key.
+     * @param loader Loads the value from the primary data source on a miss.
+     * @return The cached or freshly loaded value.
+     */
+    public T getOrLoadBucket(String key, Supplier<T> loader) {
+        return getOrLoadBucket(key, loader, () -> { });
+    }
+
+    /**
+     * Same as {@link #getOrLoadBucket(String, Supplier)}, and reports a cache miss to the caller.
+     *
+     * @param key The bucket key.
+     * @param loader Loads the value from the primary data source on a miss.
+     * @param onMiss Runs when the key was not found in the cache, whether or not this caller
+     *               ends up running the loader itself.
+     * @return The cached or freshly loaded value.
+     */
+    public T getOrLoadBucket(String key, Supplier<T> loader, Runnable onMiss) {
+        T cached = getBucketRefreshingAhead(key, bucketRefresh(key, loader));
+        if (cached != null) {
+            return cached;
+        }
+        onMiss.run();
+        return singleFlight.execute(key, () -> withLoadLock(key, () -> getBucket(key), () -> {
+            T value = loader.get();
+            saveBucket(key, value);
+            return value;
+        }));
+    }
+
+    /**
+     * Same as {@link #getOrLoadBucket(String, Supplier, Runnable)}, for loaders that batch the loads
+     * of several keys and write the loaded values to the cache themselves, in one pipelined batch.
+     * Concurrent misses for the same key are still collapsed within the JVM. The distributed lock
+     * is not taken, as the batching already turns concurrent misses into a single query per node.
+     *
+     * A refresh-ahead of a hot key uses the separate refresh loader, which must not write to the
+     * cache, so that the refreshed value is only stored if the entry still exists.
+     *
+     * @param key The bucket key.
+     * @param loader Loads the value from the primary data source on a miss and caches it.
+     * @param refreshLoader Loads the value from the primary data source without caching it.
+     * @param onMiss Runs when the key was not found in the cache.
+     * @return The cached or freshly loaded value.
+     */
+    public T getOrBatchLoadBucket(String key, Supplier<T> loader, Supplier<T> refreshLoader, Runnable onMiss) {
+        T cached = getBucketRefreshingAhead(key, bucketRefresh(key, refreshLoader));
+        if (cached != null) {
+            return cached;
+        }
+        onMiss.run();
+        return singleFlight.execute(key, loader);
+    }
+
+    /**
+     * Returns the cached list for the given key, loading and caching it on a miss.
+     *
+     * Redis never stores empty lists, so an empty read is treated as a miss. This keeps the
+     * lookup to a single round trip instead of an existence check followed by a read.
+     *
+     * @param key The list key.
+     * @param loader Loads the list from the primary data source on a miss.
+     * @return The cached or freshly loaded list.
+     */
+    public List<T> getOrLoadList(String key, Supplier<List<T>> loader) {
+        return getOrLoadList(key, loader, (items) -> List.of(), () -> { });
+    }
+
+    /**
+     * Same as {@link #getOrLoadList(String, Supplier)}, but a freshly loaded list is registered
+     * under the tags computed from it so that it can later be dropped with {@link #invalidateTags(Collection)}.
+     *
+     * @param key The list key.
+     * @param loader Loads the list from the primary data source on a miss.
+     * @param tagger Computes the tags a loaded list depends on.
+     * @param onMiss Runs when the key was not found in the cache.
+     * @return The cached or freshly loaded list.
+     */
+    public List<T> getOrLoadList(String key, Supplier<List<T>> loader, Function<List<T>, Collection<String>> tagger, Runnable onMiss) {
+        List<T> cached = getListRefreshingAhead(key, listRefresh(key, loader, tagger));
+        if (!cached.isEmpty()) {
+            return cached;
+        }
+        onMiss.run();
+        return singleFlight.execute(key, () -> withLoadLock(key, () -> {
+            List<T> current = getList(key);
+            return current.isEmpty() ? null : current;
+        }, () -> {
+            List<T> items = loader.get();
+            saveTaggedList(key, items, tagger.apply(items));
+            return items;
+        }));
+    }
+
+    // Asynchronous reads
+
+    /**
+     * Same as {@link #getOrLoadBucket(String, Supplier, Runnable)}, without blocking the calling thread.
+     *
+     * The cache is read with the asynchronous Redisson API, so a hit completes on a Redisson thread
+     * and no thread waits for Redis. A miss runs the blocking read-through, with its stampede
+     * protection, on the given executor, which re-reads the key once in case it was loaded meanwhile.
+     *
+     * @param key The bucket key.
+     * @param loader Loads the value from the primary data source on a miss.
+     * @param onMiss Runs when the key was not found in the cache.
+     * @param loadExecutor Runs the load on a miss.
+     * @return A future of the cached or freshly loaded value.
+     */
+    public CompletableFuture<T> getOrLoadBucketAsync(String key, Supplier<T> loader, Runnable onMiss, Executor loadExecutor) {
+        return getBucketRefreshingAheadAsync(key, bucketRefresh(key, loader)).thenCompose((cached) -> cached != null
+                ? CompletableFuture.completedFuture(cached)
+                : CompletableFuture.supplyAsync(() -> getOrLoadBucket(key, loader, onMiss), loadExecutor));
+    }
+
+    /**
+     * Same as {@link #getOrBatchLoadBucket(String, Supplier, Supplier, Runnable)}, without blocking the
+     * calling thread. The asynchronous loader is composed on directly on a miss, so no thread waits
+     * while a batch collects keys and is queried.
+     *
+     * @param key The bucket key.
+     * @param loader Loads the value from the primary data source on a miss, without blocking.
+     * @param refreshLoader Loads the value from the primary data source without caching it.
+     * @param onMiss Runs when the key was not found in the cache.
+     * @return A future of the cached or freshly loaded value.
+     */
+    public CompletableFuture<T> getOrBatchLoadBucketAsync(String key, Supplier<CompletableFuture<T>> loader, Supplier<T> refreshLoader,
+                                                          Runnable onMiss) {
+        return getBucketRefreshingAheadAsync(key, bucketRefresh(key, refreshLoader)).thenCompose((cached) -> {
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            onMiss.run();
+            return loader.get();
+        });
+    }
+
+    /**
+     * Same as {@link #getOrLoadList(String, Supplier, Function, Runnable)}, without blocking the
+     * calling thread, see {@link #getOrLoadBucketAsync(String, Supplier, Runnable, Executor)}.
+     */
+    public CompletableFuture<List<T>> getOrLoadListAsync(String key, Supplier<List<T>> loader, Function<List<T>, Collection<String>> tagger,
+                                                        Runnable onMiss, Executor loadExecutor) {
+        return getListRefreshingAheadAsync(key, listRefresh(key, loader, tagger)).thenCompose((cached) -> !cached.isEmpty()
+                ? CompletableFuture.completedFuture(cached)
+                : CompletableFuture.supplyAsync(() -> getOrLoadList(key, loader, tagger, onMiss), loadExecutor));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<T> getBucketRefreshingAheadAsync(String key, Runnable refresh) {
+        boolean hot = isHot(key);
+        T local = (T) nearCache.get(key);
+        if (local != null) {
+            return CompletableFuture.completedFuture(local);
+        }
+        if (!hot) {
+            RBucket<T> bucket = redissonClient.getBucket(key);
+            return recordAsync("getBucket", bucket.getAsync()).thenApply((value) -> {
+                nearCache.put(key, value);
+                return value;
+            });
+        }
+        RBatch batch = redissonClient.createBatch();
+        RFuture<T> value = batch.<T>getBucket(key).getAsync();
+        RFuture<Long> remainingTtl = batch.getBucket(key).remainTimeToLiveAsync();
+        return recordAsync("getBucket", batch.executeAsync()).thenApply((result) -> {
+            T cached = value.toCompletableFuture().join();
+            if (cached != null) {
+                nearCache.put(key, cached);
+                refreshIfExpiring(key, remainingTtl.toCompletableFuture().join(), refresh);
+            }
+            return cached;
+        });
+    }
+
+    private CompletableFuture<List<T>> getListRefreshingAheadAsync(String key, Runnable refresh) {
+        if (!isHot(key)) {
+            RList<T> redisList = redissonClient.getList(key);
+            return recordAsync("getList", redisList.readAllAsync());
+        }
+        RBatch batch = redissonClient.createBatch();
+        RFuture<List<T>> items = batch.<T>getList(key).readAllAsync();
+        RFuture<Long> remainingTtl = batch.getList(key).remainTimeToLiveAsync();
+        return recordAsync("getList", batch.executeAsync()).thenApply((result) -> {
+            List<T> cached = items.toCompletableFuture().join();
+            if (!cached.isEmpty()) {
+                refreshIfExpiring(key, remainingTtl.toCompletableFuture().join(), refresh);
+            }
+            return cached;
+        });
+    }
+
+    // Refresh-ahead
+
+    private Runnable bucketRefresh(String key, Supplier<T> loader) {
+        return () -> {
+            T value = loader.get();
+            RBucket<T> bucket = redissonClient.getBucket(key);
+            // An entry that was evicted while the value was loaded stays evicted
+            if (value != null && record("refreshBucket", () -> bucket.setIfExists(value, jitteredTtlMillis(), TimeUnit.MILLISECONDS))) {
+                nearCache.put(key, value);
+            }
+        };
+    }
+
+    private Runnable listRefresh(String key, Supplier<List<T>> loader, Function<List<T>, Collection<String>> tagger) {
+        return () -> {
+            List<T> items = loader.get();
+            saveListTags(key, items, tagger.apply(items));
+            // A list that was invalidated while it was loaded stays invalidated
+            replaceListIfExists(key, items);
+        };
+    }
+
+    /**
+     * Reads a bucket like {@link #getBucket(String)}. When the key is hot, its remaining TTL is
+     * read in the same round trip, and if it is about to expire the given refresh is started in
+     * the background while the current value is returned.
+     */
+    @SuppressWarnings("unchecked")
+    private T getBucketRefreshingAhead(String key, Runnable refresh) {
+        if (!isHot(key)) {
+            return getBucket(key);
+        }
+        T local = (T) nearCache.get(key);
+        if (local != null) {
+            return local;
+        }
+        RBatch batch = redissonClient.createBatch();
+        RFuture<T> value = batch.<T>getBucket(key).getAsync();
+        RFuture<Long> remainingTtl = batch.getBucket(key).remainTimeToLiveAsync();
+        record("getBucket", batch::execute);
+        T cached = value.toCompletableFuture().join();
+        if (cached != null) {
+            nearCache.put(key, cached);
+            refreshIfExpiring(key, remainingTtl.toCompletableFuture().join(), refresh);
+        }
+        return cached;
+    }
+
+    /**
+     * Reads a list like {@link #getList(String)}, refreshing it ahead of expiry when the key is hot.
+     */
+    private List<T> getListRefreshingAhead(String key, Runnable refresh) {
+        if (!isHot(key)) {
+            return getList(key);
+        }
+        RBatch batch = redissonClient.createBatch();
+        RFuture<List<T>> items = batch.<T>getList(key).readAllAsync();
+        RFuture<Long> remainingTtl = batch.getList(key).remainTimeToLiveAsync();
+        record("getList", batch::execute);
+        List<T> cached = items.toCompletableFuture().join();
+        if (!cached.isEmpty()) {
+            refreshIfExpiring(key, remainingTtl.toCompletableFuture().join(), refresh);
+        }
+        return cached;
+    }
+
+    private boolean isHot(String key) {
+        return accessTracker != null && accessTracker.recordAccess(key) >= refreshMinAccesses;
+    }
+
+    /**
+     * Starts a background refresh of a key whose remaining TTL is within the refresh threshold.
+     * At most one refresh per key runs at a time, and refreshes are dropped when the bounded
+     * queue is full, in which case the key simply expires and is loaded on the next read.
+     */
+    private void refreshIfExpiring(String key, long remainingTtlMillis, Runnable refresh) {
+        // Negative values mean the key has no expiry or no longer exists
+        if (remainingTtlMillis < 0 || remainingTtlMillis > TimeUnit.SECONDS.toMillis(ttl) * refreshThreshold) {
+            return;
+        }
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh.run();
+                    meterRegistry.counter(REFRESH_COUNTER, "result", "refreshed").increment();
+                } catch (RuntimeException e) {
+                    // The current value keeps being served until it expires
+                    meterRegistry.counter(REFRESH_COUNTER, "result", "failed").increment();
+                    log.warn("Refresh-ahead of {} failed", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            meterRegistry.counter(REFRESH_COUNTER, "result", "dropped").increment();
+        }
+    }
+
+    /**
+     * Returns the configured TTL spread randomly by the jitter ratio in both directions, so that
+     * keys written at the same moment, e.g. by the warm-up, do not all expire at the same moment.
+     */
+    private long jitteredTtlMillis() {
+        long ttlMillis = TimeUnit.SECONDS.toMillis(ttl);
+        if (ttlJitter <= 0) {
+            return ttlMillis;
+        }
+        return (long) (ttlMillis * (1 + ttlJitter * ThreadLocalRandom.current().nextDouble(-1, 1)));
+    }
+
+    private <R> R withLoadLock(String key, Supplier<R> recheck, Supplier<R> load) {
+        if (!distributedLockEnabled) {
+            return load.get();
+        }
+        RLock lock = redissonClient.getLock(LOCK_PREFIX + key);
+        boolean locked = false;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            locked = lock.tryLock(lockWaitMillis, lockLeaseMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sample.stop(meterRegistry.timer(OPERATION_TIMER, "operation", "lock"));
+        }
+        try {
+            if (locked) {
+                // Another node may have filled the cache while this one was waiting
+                R current = recheck.get();
+                if (current != null) {
+                    return current;
+                }
+            }
+            return load.get();
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Metrics
+
+    private <R> R record(String operation, Supplier<R> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            meterRegistry.counter(ERROR_COUNTER, "operation", operation, "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(OPERATION_TIMER, "operation", operation));
+        }
+    }
+
+    /**
+     * Same as {@link #record(String, Supplier)} for an asynchronous call, the latency is recorded
+     * when the returned future completes.
+     */
+    private <R> CompletableFuture<R> recordAsync(String operation, CompletionStage<R> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return call.toCompletableFuture().whenComplete((result, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                meterRegistry.counter(ERROR_COUNTER, "operation", operation, "exception", cause.getClass().getSimpleName()).increment();
+            }
+            sample.stop(meterRegistry.timer(OPERATION_TIMER, "operation", operation));
+        });
+    }
+
+    private void record(String operation, Runnable call) {
+        record(operation, () -> {
+            call.run();
+            return null;
+        });
     }
 }
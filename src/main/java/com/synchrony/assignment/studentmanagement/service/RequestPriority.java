@@ -0,0 +1,27 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+/**
+ * Priority of the work running on the current thread, used by the concurrency limiter to shed
+ * cheap-to-retry, expensive requests first when the database is overloaded.
+ *
+ * The priority of a request is set from its endpoint for the duration of the request. Work that
+ * is not tied to a request runs with HIGH priority.
+ */
+public enum RequestPriority {
+    HIGH,
+    LOW;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> HIGH);
+
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    public static void set(RequestPriority priority) {
+        CURRENT.set(priority);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
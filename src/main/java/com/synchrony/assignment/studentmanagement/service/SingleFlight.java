@@ -0,0 +1,48 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into a single execution.
+ *
+ * The first caller for a key runs the supplied loader, every caller that arrives while
+ * that load is still in flight waits for and shares its result (or its exception).
+ * Once the load completes the key is released, so the next call starts a fresh load.
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <R> R execute(String key, Supplier<R> loader) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            return (R) await(inFlight);
+        }
+        try {
+            R result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
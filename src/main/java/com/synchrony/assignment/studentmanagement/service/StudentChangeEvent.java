@@ -0,0 +1,40 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A batch of committed student changes, published by the outbox relay to the caches and indexes
+ * that are derived from the student table.
+ *
+ * Delivery is at-least-once: a batch whose listeners fail is published again, and a batch may
+ * also be published again after a crash. Listeners must therefore be idempotent.
+ */
+@Data
+@AllArgsConstructor
+public class StudentChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Change {
+        private Long studentId;
+        private Type type;
+        // The student after the change, null for deletions. Its version is null if unknown.
+        private StudentDto student;
+        // The age, class and version of the student before the change, null for creations or if unknown
+        private StudentDto previous;
+        // The ID of the outbox event, which identifies a change delivered again. Null if not relayed from the outbox.
+        private Long eventId;
+    }
+
+    private List<Change> changes;
+}
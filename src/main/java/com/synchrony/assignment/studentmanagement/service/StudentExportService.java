@@ -0,0 +1,93 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.synchrony.assignment.studentmanagement.dto.request.ExportFormat;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.mapper.StudentMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the whole student table to an output stream as NDJSON or CSV.
+ *
+ * Rows are streamed from the database with a forward-only cursor and each row is mapped and
+ * written as soon as it is read, so heap use stays flat regardless of the table size.
+ */
+@Service
+public class StudentExportService {
+
+    private static final String CSV_HEADER = "id,name,age,studentClass,phoneNumber";
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void export(ExportFormat format, OutputStream out) throws IOException {
+        try {
+            if (format == ExportFormat.CSV) {
+                exportCsv(out);
+            } else {
+                exportNdjson(out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void exportNdjson(OutputStream out) throws IOException {
+        try (SequenceWriter writer = objectMapper.writerFor(StudentDto.class).withRootValueSeparator("\n").writeValues(out)) {
+            studentService.forEachStudent((student) -> {
+                try {
+                    writer.write(StudentMapper.toDto(student));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        studentService.forEachStudent((student) -> {
+            StudentDto dto = StudentMapper.toDto(student);
+            try {
+                writer.write(String.valueOf(dto.getId()));
+                writer.write(',');
+                writer.write(csvValue(dto.getName()));
+                writer.write(',');
+                writer.write(dto.getAge() == null ? "" : dto.getAge().toString());
+                writer.write(',');
+                writer.write(csvValue(dto.getStudentClass()));
+                writer.write(',');
+                writer.write(dto.getPhoneNumber() == null ? "" : dto.getPhoneNumber().toString());
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,220 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory Bloom filter of the IDs of all existing students, used to reject lookups of IDs
+ * that cannot exist before they reach Redis or the database.
+ *
+ * The filter is built from the database once the application is ready, and rebuilt periodically
+ * so that deleted students are forgotten and the filter is resized as the table grows. New IDs
+ * are added by the create paths, and again from the change events relayed from the student
+ * outbox in case a create path failed before adding them. They are broadcast on a Redisson
+ * topic so that the filter of every application node sees them. Until the first build has
+ * completed every ID is let through.
+ *
+ * Topic messages can be lost, so a negative answer is only trusted for IDs up to the highest ID
+ * that existed when the filter was built. IDs are assigned in increasing order, so every ID
+ * created since then is above it and falls through to the negative cache and the database.
+ */
+@Service
+@Slf4j
+public class StudentIdFilter {
+
+    private static final String FILTER_TOPIC = "student_id_filter";
+
+    private static final String SEPARATOR = ",";
+
+    private static final int BUILD_PAGE_SIZE = 10000;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${student.id-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${student.id-filter.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    @Value("${student.id-filter.rebuild-interval-minutes:60}")
+    private long rebuildIntervalMinutes;
+
+    private volatile Snapshot current;
+
+    // The filter that is being built, new IDs are added to it as well so that it does not miss them
+    private BloomFilter building;
+
+    // Makes swapping in a new filter and adding an ID atomic, so that no added ID is lost in a swap
+    private final Object swapLock = new Object();
+
+    private RTopic filterTopic;
+
+    private ScheduledExecutorService rebuilder;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        filterTopic = redissonClient.getTopic(FILTER_TOPIC);
+        filterTopic.addListener(String.class, (channel, message) -> {
+            for (String id : message.split(SEPARATOR)) {
+                applyPut(Long.parseLong(id));
+            }
+        });
+        meterRegistry.gauge("student.id-filter.expected-fpp", this,
+                (f) -> f.current == null ? 0 : f.current.filter.expectedFalsePositiveProbability());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rebuilder = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "student-id-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilder.scheduleWithFixedDelay(this::rebuildSafely, 0, rebuildIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    /**
+     * Builds a new filter from the IDs in the database, one page at a time, and swaps it in.
+     * The filter is sized for twice the current number of students so that it stays accurate
+     * while the table grows until the next rebuild. Negative answers are trusted up to the
+     * highest ID read before the build started.
+     */
+    public void rebuild() {
+        long count = studentRepository.count();
+        long maxId = studentRepository.findMaxId();
+        BloomFilter next = new BloomFilter(Math.max(count * 2, BUILD_PAGE_SIZE), falsePositiveProbability);
+        synchronized (swapLock) {
+            building = next;
+        }
+        long afterId = 0L;
+        List<Long> page;
+        do {
+            page = studentRepository.findIdsAfter(afterId, PageRequest.of(0, BUILD_PAGE_SIZE));
+            for (Long id : page) {
+                next.put(id);
+                afterId = id;
+            }
+        } while (page.size() == BUILD_PAGE_SIZE);
+        synchronized (swapLock) {
+            current = new Snapshot(next, maxId);
+            building = null;
+        }
+        log.info("Student ID filter built for {} students, expected false-positive probability {}",
+                count, next.expectedFalsePositiveProbability());
+    }
+
+    public void put(Long id) {
+        putAll(List.of(id));
+    }
+
+    public void putAll(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(this::applyPut);
+        filterTopic.publish(ids.stream().map(String::valueOf).collect(Collectors.joining(SEPARATOR)));
+    }
+
+    @EventListener
+    public void onStudentsChanged(StudentChangeEvent event) {
+        putAll(event.getChanges().stream()
+                .filter((change) -> change.getType() == StudentChangeEvent.Type.CREATED)
+                .map(StudentChangeEvent.Change::getStudentId)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Tells whether a student with the given ID might exist.
+     *
+     * @param id The unique identifier of the student.
+     * @return false if the student certainly does not exist, true if it might exist, if it is
+     *         newer than the filter or if the filter is disabled or not built yet.
+     */
+    public boolean mightExist(Long id) {
+        Snapshot snapshot = current;
+        if (snapshot == null || id == null || id > snapshot.maxId) {
+            return true;
+        }
+        if (snapshot.filter.mightContain(id)) {
+            return true;
+        }
+        meterRegistry.counter("student.id-filter.rejections").increment();
+        return false;
+    }
+
+    /**
+     * Records that an ID which passed the filter did not exist in the database. Deleted students
+     * are counted too until the next rebuild, so this is an upper bound of the false positives.
+     */
+    public void recordFalsePositive() {
+        meterRegistry.counter("student.id-filter.false-positives").increment();
+    }
+
+    private void applyPut(Long id) {
+        synchronized (swapLock) {
+            if (current != null) {
+                current.filter.put(id);
+            }
+            if (building != null) {
+                building.put(id);
+            }
+        }
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // The previous filter stays in use until the next attempt
+            log.error("Student ID filter rebuild failed", e);
+        }
+    }
+
+    private static final class Snapshot {
+        private final BloomFilter filter;
+        private final long maxId;
+
+        private Snapshot(BloomFilter filter, long maxId) {
+            this.filter = filter;
+            this.maxId = maxId;
+        }
+    }
+}
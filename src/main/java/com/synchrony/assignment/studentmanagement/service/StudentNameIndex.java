@@ -0,0 +1,204 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over student names, used to resolve substring name searches
+ * without a full table scan.
+ *
+ * The index is built from the database once the application is ready and is kept up to date
+ * by the change events relayed from the student outbox. Every change is also broadcast on a
+ * Redisson topic so that the index of every application node sees it.
+ */
+@Service
+@Slf4j
+public class StudentNameIndex {
+
+    private static final String INDEX_TOPIC = "student_name_index";
+
+    private static final String SEPARATOR = "|";
+
+    private static final int BUILD_PAGE_SIZE = 5000;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Value("${student.name-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${student.name-index.max-matches:10000}")
+    private int maxMatches;
+
+    private final NGramIndex index = new NGramIndex();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Set<Long> removedWhileBuilding = new HashSet<>();
+
+    private boolean building;
+
+    private volatile boolean ready;
+
+    private RTopic indexTopic;
+
+    @PostConstruct
+    public void init() {
+        indexTopic = redissonClient.getTopic(INDEX_TOPIC);
+        indexTopic.addListener(String.class, (channel, message) -> {
+            int separator = message.indexOf(SEPARATOR);
+            if (separator < 0) {
+                applyRemove(Long.parseLong(message));
+            } else {
+                applyPut(Long.parseLong(message.substring(0, separator)), message.substring(separator + 1));
+            }
+        });
+    }
+
+    /**
+     * Loads every student name from the database into the index, one page of IDs at a time.
+     * Searches fall back to the database until the build has completed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            building = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long afterId = 0L;
+        List<Object[]> page;
+        do {
+            page = studentRepository.findIdAndNameAfter(afterId, PageRequest.of(0, BUILD_PAGE_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : page) {
+                    Long id = (Long) row[0];
+                    // Changes applied while the build is running are newer than the page that was read
+                    if (!index.contains(id) && !removedWhileBuilding.contains(id)) {
+                        index.put(id, (String) row[1]);
+                    }
+                    afterId = id;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (page.size() == BUILD_PAGE_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            building = false;
+            removedWhileBuilding.clear();
+            ready = true;
+            log.info("Student name index built with {} entries", index.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a batch of committed student changes to the index. Replaying a change leaves the
+     * index as it is, so batches delivered more than once are harmless.
+     *
+     * @param event The changes relayed from the student outbox.
+     */
+    @EventListener
+    public void onStudentsChanged(StudentChangeEvent event) {
+        for (StudentChangeEvent.Change change : event.getChanges()) {
+            if (change.getType() == StudentChangeEvent.Type.DELETED) {
+                remove(change.getStudentId());
+            } else {
+                put(change.getStudentId(), change.getStudent().getName());
+            }
+        }
+    }
+
+    public void put(Long id, String name) {
+        applyPut(id, name);
+        indexTopic.publish(id + SEPARATOR + name);
+    }
+
+    public void remove(Long id) {
+        applyRemove(id);
+        indexTopic.publish(String.valueOf(id));
+    }
+
+    /**
+     * Resolves the IDs of the students whose names contain the given text, ignoring case and accents.
+     *
+     * @param name The text to search for within student names.
+     * @return The matching student IDs, or null if the index cannot answer the query. That is the
+     *         case while the index is not built yet, when the text contains LIKE wildcards, or when
+     *         more students match than the configured maximum.
+     */
+    public List<Long> findIdsByName(String name) {
+        if (!ready || name.contains("%") || name.contains("_") || name.contains("\\")) {
+            return null;
+        }
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(name, maxMatches);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids == null) {
+            return null;
+        }
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    private void applyPut(Long id, String name) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.put(id, name);
+            removedWhileBuilding.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyRemove(Long id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.remove(id);
+            if (building) {
+                removedWhileBuilding.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.model.StudentOutboxEvent;
+import com.synchrony.assignment.studentmanagement.repository.StudentOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Relays the change events of the student outbox to the caches and indexes derived from the
+ * student table.
+ *
+ * A background worker reads the oldest events in batches, publishes each batch as one
+ * StudentChangeEvent to the application listeners and deletes the events once every listener
+ * has handled them. If a listener fails the events stay in the outbox and are published again on
+ * the next poll, so delivery is at-least-once. Only one application node relays at a time, which
+ * keeps the events in commit order.
+ *
+ * When a batch fails, its events are relayed one at a time to find the ones that fail. Later
+ * events of the same student wait behind a failed one, so every student's changes are still
+ * applied in order. An event that fails max-attempts times while other events are relayed is
+ * moved to the student_outbox_dead_letter table, so that a poison event cannot stop the relay.
+ * Failures while nothing at all can be relayed, e.g. while Redis is down, are not counted.
+ */
+@Service
+@Slf4j
+public class StudentOutboxRelay {
+
+    private static final String RELAY_LOCK_KEY = "student_outbox_relay";
+
+    @Autowired
+    private StudentOutboxRepository studentOutboxRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${student.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${student.outbox.poll-interval-ms:200}")
+    private long pollIntervalMillis;
+
+    @Value("${student.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${student.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    private RLock relayLock;
+
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            relayLock = redissonClient.getLock(RELAY_LOCK_KEY);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "student-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::relaySafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+
+    /**
+     * Relays the pending events, one batch at a time, until the outbox is empty.
+     *
+     * @return The number of events that were relayed.
+     */
+    public int relay() {
+        if (!relayLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int relayed = 0;
+            List<StudentOutboxEvent> events;
+            boolean isDrained;
+            do {
+                events = studentOutboxRepository.findOldest(batchSize);
+                if (events.isEmpty()) {
+                    break;
+                }
+                int handled = relayBatch(events);
+                relayed += handled;
+                // Events left behind are retried on the next poll instead of right away
+                isDrained = handled == events.size();
+            } while (isDrained && events.size() == batchSize);
+            return relayed;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    /**
+     * Relays one batch of events.
+     *
+     * @return The number of events that were relayed or moved to the dead letter table.
+     */
+    private int relayBatch(List<StudentOutboxEvent> events) {
+        try {
+            publish(events);
+        } catch (RuntimeException e) {
+            log.warn("Relaying a batch of {} outbox events failed, relaying them one at a time", events.size(), e);
+            return relayOneByOne(events);
+        }
+        recordRelayed(events);
+        return events.size();
+    }
+
+    private int relayOneByOne(List<StudentOutboxEvent> events) {
+        List<StudentOutboxEvent> relayed = new ArrayList<>();
+        Map<StudentOutboxEvent, RuntimeException> failed = new LinkedHashMap<>();
+        Set<Long> blockedStudents = new HashSet<>();
+        for (StudentOutboxEvent event : events) {
+            // A later change of a student is not applied before an earlier one that failed
+            if (blockedStudents.contains(event.getStudentId())) {
+                continue;
+            }
+            try {
+                publish(List.of(event));
+                relayed.add(event);
+            } catch (RuntimeException e) {
+                failed.put(event, e);
+                blockedStudents.add(event.getStudentId());
+            }
+        }
+        recordRelayed(relayed);
+        if (relayed.isEmpty()) {
+            // Nothing could be relayed, the cause is most likely not in the events themselves
+            return 0;
+        }
+        int deadLettered = 0;
+        for (Map.Entry<StudentOutboxEvent, RuntimeException> failure : failed.entrySet()) {
+            StudentOutboxEvent event = failure.getKey();
+            if (event.getAttempts() + 1 < maxAttempts) {
+                studentOutboxRepository.incrementAttempts(event.getId());
+                continue;
+            }
+            log.error("Outbox event {} of student {} failed {} times, moving it to the dead letter table",
+                    event.getId(), event.getStudentId(), maxAttempts, failure.getValue());
+            studentOutboxRepository.moveToDeadLetter(event.getId(), failure.getValue().toString());
+            meterRegistry.counter("student.outbox.dead-lettered").increment();
+            deadLettered++;
+        }
+        return relayed.size() + deadLettered;
+    }
+
+    private void publish(List<StudentOutboxEvent> events) {
+        List<StudentChangeEvent.Change> changes = new ArrayList<>(events.size());
+        for (StudentOutboxEvent event : events) {
+            StudentDto student = event.getPayload() == null ? null : fromJson(event.getPayload());
+            StudentDto previous = event.getPreviousPayload() == null ? null : fromJson(event.getPreviousPayload());
+            changes.add(new StudentChangeEvent.Change(event.getStudentId(), StudentChangeEvent.Type.valueOf(event.getEventType()), student,
+                    previous, event.getId()));
+        }
+        eventPublisher.publishEvent(new StudentChangeEvent(changes));
+    }
+
+    private void recordRelayed(List<StudentOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        studentOutboxRepository.deleteAll(events.stream().map(StudentOutboxEvent::getId).collect(Collectors.toList()));
+        LocalDateTime now = LocalDateTime.now();
+        for (StudentOutboxEvent event : events) {
+            meterRegistry.timer("student.outbox.lag").record(Duration.between(event.getCreatedAt(), now));
+        }
+        meterRegistry.counter("student.outbox.relayed").increment(events.size());
+    }
+
+    private StudentDto fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, StudentDto.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void relaySafely() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            // The events stay in the outbox and are relayed again on the next poll
+            log.error("Outbox relay failed", e);
+        }
+    }
+}
@@ -1,38 +1,113 @@
 package com.synchrony.assignment.studentmanagement.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
 import com.synchrony.assignment.studentmanagement.exception.StudentNotFoundException;
 import com.synchrony.assignment.studentmanagement.exception.StudentRecordDeletionException;
 import com.synchrony.assignment.studentmanagement.exception.StudentRecordUpdateException;
+import com.synchrony.assignment.studentmanagement.exception.StudentVersionConflictException;
+import com.synchrony.assignment.studentmanagement.mapper.CursorMapper;
 import com.synchrony.assignment.studentmanagement.mapper.StudentMapper;
 import com.synchrony.assignment.studentmanagement.model.Student;
+import com.synchrony.assignment.studentmanagement.model.StudentOutboxEvent;
+import com.synchrony.assignment.studentmanagement.repository.StudentBatchRepository;
+import com.synchrony.assignment.studentmanagement.repository.StudentOutboxRepository;
 import com.synchrony.assignment.studentmanagement.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 public class StudentService {
+    private static final int ID_QUERY_CHUNK_SIZE = 1000;
+
+    private static final String QUERY_TIMER = "student.db.queries";
+
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private StudentBatchRepository studentBatchRepository;
+
+    @Autowired
+    private StudentOutboxRepository studentOutboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${student.outbox.enabled:true}")
+    private boolean outboxEnabled;
+
     /**
      * Adds a new student to the database.
      * 
      * This method takes a CreateStudent object, converts it to a Student entity,
-     * saves it to the database, and returns the saved Student object.
+     * saves it to the database, and returns the saved Student object. A CREATED change event is
+     * written to the outbox in the same transaction.
      *
      * @param createStudent The CreateStudent object containing the details of the student to be added.
      *                      This object should contain all necessary information for creating a new student.
      * @return The Student object that was saved to the database, including any auto-generated fields (e.g., ID).
      */
+    @Transactional
+    @ConcurrencyLimited
     public Student addStudent(CreateStudent createStudent) {
-        Student student = studentRepository.save(StudentMapper.toEntity(createStudent));
+        Student student = query("save", () -> studentRepository.save(StudentMapper.toEntity(createStudent)));
+        recordChanges(StudentChangeEvent.Type.CREATED, List.of(StudentMapper.toDto(student)), Map.of());
         return student;
     }
 
+    /**
+     * Adds many students to the database in a single batched insert.
+     * 
+     * The students are written as one JDBC batch inside one transaction, so either all of
+     * them are stored or none are, together with their CREATED change events. Generated IDs are
+     * assigned back onto the given objects.
+     *
+     * @param students The Student entities to insert.
+     * @return The number of students that were inserted.
+     */
+    @Transactional
+    @ConcurrencyLimited
+    public int addStudents(List<Student> students) {
+        int inserted = query("insertAll", () -> studentBatchRepository.insertAll(students));
+        recordChanges(StudentChangeEvent.Type.CREATED, students.stream().map(StudentMapper::toDto).toList(), Map.of());
+        return inserted;
+    }
+
     /**
      * Retrieves a student from the database by their ID.
      * 
@@ -44,14 +119,53 @@ public class StudentService {
      * @return The Student object corresponding to the given ID.
      * @throws StudentNotFoundException If no student is found with the given ID.
      */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited
     public Student getStudentById(Long id) {
-        Optional<Student> result =  studentRepository.findById(id);
+        Optional<Student> result = query("findById", () -> studentRepository.findById(id));
         if(result.isPresent()) {
             return result.get();
         }
         throw new StudentNotFoundException("Student record not found");
     }
 
+    /**
+     * Retrieves all students whose IDs are in the given collection.
+     * 
+     * The IDs are looked up with a single WHERE id IN (...) query per chunk of IDs, so even
+     * several thousand IDs only cost a handful of queries. IDs that do not exist are simply
+     * absent from the result.
+     *
+     * @param ids The unique identifiers of the students to retrieve.
+     * @return A List of the Student objects that were found, in no particular order.
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited
+    public List<Student> getStudentsByIds(Collection<Long> ids) {
+        List<Long> idList = new ArrayList<>(ids);
+        List<Student> students = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += ID_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = idList.subList(from, Math.min(from + ID_QUERY_CHUNK_SIZE, idList.size()));
+            students.addAll(query("findAllByIdIn", () -> studentRepository.findAllByIdIn(chunk)));
+        }
+        return students;
+    }
+
+    /**
+     * Retrieves the IDs of the most recently updated students, newest first.
+     * 
+     * Only the IDs are read, from the index on (updated_at, id), so this stays cheap for a large
+     * number of students. It is used to pick the students to load into the cache at startup.
+     *
+     * @param limit The maximum number of IDs to return.
+     * @return A List of student IDs ordered by last update, newest first.
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited
+    public List<Long> getRecentlyUpdatedIds(Integer limit) {
+        return query("findRecentlyUpdatedIds", () -> studentRepository.findRecentlyUpdatedIds(limit));
+    }
+
     /**
      * Retrieves a list of students from the database whose names contain the specified string.
      * 
@@ -62,23 +176,32 @@ public class StudentService {
      * @return A List of Student objects whose names contain the specified string. 
      *         Returns an empty list if no matching students are found.
      */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited
     public List<Student> getStudentByName(String name) {
-        return studentRepository.findByNameContaining(name);
+        return query("findByNameContaining", () -> studentRepository.findByNameContaining(name));
     }
     /**
      * Deletes a student from the database based on their ID.
      * 
      * This method attempts to delete a student record from the database using the provided ID.
      * If the deletion is successful, it returns true. If the student record is not found or
-     * the deletion fails, it throws a StudentRecordDeletionException.
+     * the deletion fails, it throws a StudentRecordDeletionException. A DELETED change event is
+     * written to the outbox in the same transaction.
      *
      * @param id The unique identifier of the student to be deleted.
      * @return true if the student record was successfully deleted.
      * @throws StudentRecordDeletionException If the student record could not be deleted or was not found.
      */
+    @Transactional
+    @ConcurrencyLimited
     public boolean deleteStudent(Long id) {
-        Boolean isDeleted = studentRepository.deleteByStudentId(id) > 0;
+        Map<Long, StudentDto> previous = lockPreviousStates(List.of(id));
+        Boolean isDeleted = query("deleteByStudentId", () -> studentRepository.deleteByStudentId(id)) > 0;
         if(isDeleted) {
+            StudentDto deleted = new StudentDto();
+            deleted.setId(id);
+            recordChanges(StudentChangeEvent.Type.DELETED, List.of(deleted), previous);
             return isDeleted;
         } else {
             throw new StudentRecordDeletionException("Student Record is not deleted or not found");
@@ -91,7 +214,9 @@ public class StudentService {
      * This method attempts to update a student's record in the database using the provided
      * CreateStudent object and student ID. If the update is successful, it returns true.
      * If the student record is not found or the update fails, it throws a
-     * StudentRecordUpdateException.
+     * StudentRecordUpdateException. An UPDATED change event, without a version as the new
+     * version is not read back, is written to the outbox in the same transaction. The age and
+     * class the student had before are read with a locking read first, for the event.
      *
      * @param createStudent The CreateStudent object containing the updated information
      *                      for the student. This should include the new name, age,
@@ -100,15 +225,91 @@ public class StudentService {
      * @return true if the student record was successfully updated.
      * @throws StudentRecordUpdateException If the student record could not be updated or was not found.
      */
+    @Transactional
+    @ConcurrencyLimited
     public boolean updateStudentInfoById(CreateStudent createStudent, Long id) {
-        Boolean isUpdated = studentRepository.updateById(createStudent.getName(), createStudent.getAge(), createStudent.getStudentClass(), createStudent.getPhoneNumber(), id) > 0;
+        Map<Long, StudentDto> previous = lockPreviousStates(List.of(id));
+        Boolean isUpdated = query("updateById", () -> studentRepository.updateById(createStudent.getName(), createStudent.getAge(), createStudent.getStudentClass(), createStudent.getPhoneNumber(), id)) > 0;
         if(isUpdated) {
+           recordChanges(StudentChangeEvent.Type.UPDATED, List.of(StudentMapper.fromRequest(createStudent, id)), previous);
            return isUpdated;
         } else {
             throw new StudentRecordUpdateException("Student Record is not updated or not found");
         }
     }
 
+    /**
+     * Updates the information of a student in the database if it is still at the expected version.
+     * 
+     * The check and the update are one conditional UPDATE statement, so no read is needed before
+     * the write. Only when no row was updated is the database asked whether the student exists,
+     * to tell a missing student apart from a concurrent modification.
+     *
+     * @param createStudent The CreateStudent object containing the updated information for the student.
+     * @param id The unique identifier of the student whose information is to be updated.
+     * @param expectedVersion The version of the student the client last read.
+     * @return true if the student record was successfully updated. Its version is then expectedVersion + 1.
+     * @throws StudentVersionConflictException If the student was modified since the expected version.
+     * @throws StudentRecordUpdateException If the student record was not found.
+     */
+    @Transactional
+    @ConcurrencyLimited
+    public boolean updateStudentInfoById(CreateStudent createStudent, Long id, Long expectedVersion) {
+        Map<Long, StudentDto> previous = lockPreviousStates(List.of(id));
+        boolean isUpdated = query("updateByIdAndVersion", () -> studentRepository.updateByIdAndVersion(createStudent.getName(), createStudent.getAge(),
+                createStudent.getStudentClass(), createStudent.getPhoneNumber(), id, expectedVersion)) > 0;
+        if (isUpdated) {
+            StudentDto updated = StudentMapper.fromRequest(createStudent, id);
+            updated.setVersion(expectedVersion + 1);
+            recordChanges(StudentChangeEvent.Type.UPDATED, List.of(updated), previous);
+            return true;
+        }
+        if (query("existsById", () -> studentRepository.existsById(id))) {
+            throw new StudentVersionConflictException("Student record was modified by another request");
+        }
+        throw new StudentRecordUpdateException("Student Record is not updated or not found");
+    }
+
+    /**
+     * Updates many students in the database in a single batched update.
+     * 
+     * This is the flush path of the write-behind pipeline. Unlike updateStudentInfoById, students
+     * that no longer exist are skipped instead of failing the whole batch. The UPDATED change
+     * events of the students that were updated, and only of those, are written to the outbox in
+     * the same transaction.
+     *
+     * @param students The new information of the students, identified by their IDs.
+     * @return The number of student records that were updated.
+     */
+    @Transactional
+    @ConcurrencyLimited
+    public int updateStudents(List<StudentDto> students) {
+        Map<Long, StudentDto> previous = lockPreviousStates(students.stream().map(StudentDto::getId).toList());
+        List<StudentDto> versioned = students.stream().map((student) -> withWrittenVersion(student, previous.get(student.getId()))).toList();
+        List<StudentDto> updated = query("updateAll", () -> studentBatchRepository.updateAll(versioned));
+        recordChanges(StudentChangeEvent.Type.UPDATED, updated, previous);
+        return updated.size();
+    }
+
+    /**
+     * Returns a copy of a queued update with the version the batch update writes: the version
+     * assigned when it was queued, or the one following the current version of the row if a
+     * synchronous update has taken the row to or past it. As the row is locked, this is exactly
+     * the version written, so the change event carries it. The given update is left as it is, as
+     * the write-behind pipeline compares it with its pending entry afterwards.
+     */
+    private static StudentDto withWrittenVersion(StudentDto student, StudentDto current) {
+        StudentDto copy = new StudentDto();
+        copy.setId(student.getId());
+        copy.setName(student.getName());
+        copy.setAge(student.getAge());
+        copy.setStudentClass(student.getStudentClass());
+        copy.setPhoneNumber(student.getPhoneNumber());
+        copy.setVersion(current == null ? student.getVersion()
+                : Math.max(student.getVersion() == null ? 0 : student.getVersion(), current.getVersion() + 1));
+        return copy;
+    }
+
     /**
      * Retrieves a list of students from the database with pagination and optional name filtering.
      * 
@@ -127,7 +328,183 @@ public class StudentService {
      *         by the 'limit' parameter and starts from the position specified by the 'offset' 
      *         parameter. If no students match the criteria, an empty list is returned.
      */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited
     public List<Student> getAllStudentsInfo(Integer limit, Integer offset, String name) {
-        return studentRepository.findAllStudentsInfo(limit, offset, name);
+        return query("findAllStudentsInfo", () -> studentRepository.findAllStudentsInfo(limit, offset, name));
+    }
+
+    /**
+     * Retrieves a page of students from the database among the given IDs.
+     * 
+     * This is the counterpart of getAllStudentsInfo for when the name filter has already been
+     * resolved to a set of matching IDs, so only those rows are read instead of scanning the table.
+     *
+     * @param limit The maximum number of student records to return.
+     * @param offset The number of records to skip before starting to return the results.
+     * @param ids The IDs of the students that match the name filter. Must not be empty.
+     * @return A List of Student objects ordered by last update, newest first.
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited
+    public List<Student> getStudentsInfoByIds(Integer limit, Integer offset, Collection<Long> ids) {
+        return query("findAllStudentsInfoByIds", () -> studentRepository.findAllStudentsInfoByIds(limit, offset, ids));
+    }
+
+    /**
+     * Retrieves one page of students from the database using keyset (cursor) pagination.
+     * 
+     * Rows are ordered by (updated_at, id), newest first. Instead of skipping an offset, the
+     * query seeks directly past the position of the last row of the previous page using the
+     * composite index on those columns, so every page costs the same no matter how deep it is.
+     *
+     * @param limit The maximum number of student records to return.
+     * @param cursor The position of the last row of the previous page, or null for the first page.
+     * @param name A string to filter students by name. Only students whose names contain this
+     *             string (case-insensitive) are returned. An empty string applies no filter.
+     * @return A List of Student objects that follow the cursor position, in page order.
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited
+    public List<Student> getStudentsPage(Integer limit, CursorMapper.Cursor cursor, String name) {
+        if (cursor == null) {
+            return query("findFirstStudentsPage", () -> studentRepository.findFirstStudentsPage(limit, name));
+        }
+        return query("findStudentsPageAfter", () -> studentRepository.findStudentsPageAfter(limit, cursor.getUpdatedAt(), cursor.getId(), name));
+    }
+
+    /**
+     * Passes every student in the database to the given consumer, one row at a time.
+     * 
+     * The rows are read through a forward-only streaming result set and every entity is
+     * detached from the persistence context once it has been consumed, so memory use does
+     * not grow with the number of rows.
+     *
+     * @param consumer Receives each Student object in ID order.
+     */
+    @Transactional(readOnly = true)
+    public void forEachStudent(Consumer<Student> consumer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Stream<Student> students = studentRepository.streamAll()) {
+            students.forEach((student) -> {
+                consumer.accept(student);
+                entityManager.detach(student);
+            });
+        } finally {
+            sample.stop(meterRegistry.timer(QUERY_TIMER, "method", "streamAll"));
+        }
+    }
+
+    /**
+     * Reads the age, class and version of the given students, and locks their rows until the end
+     * of the transaction so that they are the values the following update or delete replaces. They
+     * are recorded with the change events, from which the statistics counters derive their deltas.
+     *
+     * @param ids The IDs of the students about to be changed.
+     * @return The age, class and version of every student that exists, by ID.
+     */
+    private Map<Long, StudentDto> lockPreviousStates(Collection<Long> ids) {
+        Map<Long, StudentDto> previous = new HashMap<>();
+        List<Long> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += ID_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = idList.subList(from, Math.min(from + ID_QUERY_CHUNK_SIZE, idList.size()));
+            for (Object[] row : query("findAgeClassAndVersionForUpdate", () -> studentRepository.findAgeClassAndVersionForUpdate(chunk))) {
+                StudentDto student = new StudentDto();
+                student.setAge(row[1] == null ? null : ((Number) row[1]).intValue());
+                student.setStudentClass((String) row[2]);
+                student.setVersion(((Number) row[3]).longValue());
+                previous.put(((Number) row[0]).longValue(), student);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Appends one change event per student to the outbox, with the student after the change as
+     * payload and its age and class before the change as previous payload. Must be called inside
+     * the transaction of the change, so that the events are only committed, and relayed, if the
+     * change is.
+     *
+     * When the outbox relay is disabled nothing would ever relay or delete the events, so they are
+     * not written. The change event is then published directly once the transaction commits,
+     * without the outbox guarantee that it survives a crash of the application.
+     *
+     * @param type The kind of change.
+     * @param students The students after the change. Only the ID is used for deletions.
+     * @param previous The age and class of the students before the change, by ID.
+     */
+    private void recordChanges(StudentChangeEvent.Type type, List<StudentDto> students, Map<Long, StudentDto> previous) {
+        if (students.isEmpty()) {
+            return;
+        }
+        if (!outboxEnabled) {
+            publishAfterCommit(type, students, previous);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<StudentOutboxEvent> events = new ArrayList<>(students.size());
+        for (StudentDto student : students) {
+            StudentOutboxEvent event = new StudentOutboxEvent();
+            event.setStudentId(student.getId());
+            event.setEventType(type.name());
+            event.setPayload(type == StudentChangeEvent.Type.DELETED ? null : toJson(student));
+            StudentDto before = previous.get(student.getId());
+            event.setPreviousPayload(before == null ? null : toJson(before));
+            event.setCreatedAt(now);
+            events.add(event);
+        }
+        query("appendOutbox", () -> {
+            studentOutboxRepository.append(events);
+            return events.size();
+        });
+    }
+
+    private void publishAfterCommit(StudentChangeEvent.Type type, List<StudentDto> students, Map<Long, StudentDto> previous) {
+        StudentChangeEvent event = new StudentChangeEvent(students.stream()
+                .map((s) -> new StudentChangeEvent.Change(s.getId(), type, type == StudentChangeEvent.Type.DELETED ? null : s,
+                        previous.get(s.getId()), null))
+                .toList());
+        Runnable publish = () -> {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                // The change is committed, a failing listener must not turn it into an error
+                log.error("Publishing {} change events failed", event.getChanges().size(), e);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish.run();
+            }
+        });
+    }
+
+    private String toJson(StudentDto student) {
+        try {
+            return objectMapper.writeValueAsString(student);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs one repository call and records its duration under the name of the repository method.
+     *
+     * @param method The name of the repository method, used as the "method" tag of the timer.
+     * @param call The repository call.
+     * @return The result of the call.
+     */
+    private <R> R query(String method, Supplier<R> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            meterRegistry.timer(QUERY_TIMER, "method", method).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
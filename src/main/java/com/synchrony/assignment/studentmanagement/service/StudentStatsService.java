@@ -0,0 +1,244 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentStats;
+import com.synchrony.assignment.studentmanagement.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Number of students per class and per age, kept in two Redis hashes so that they can be read in
+ * constant time no matter how many students there are.
+ *
+ * The counters are updated incrementally from the change events relayed from the student outbox.
+ * Every event carries the age and class of the student before the change, read with a locking read
+ * in the transaction of the change, so a change moves the student from its previous counters to
+ * its new ones. The IDs of the outbox events applied in the last hour are kept in a sorted set,
+ * and an event delivered again within that time is skipped, which makes the counters safe under
+ * the at-least-once delivery of the relay. All keys share a Redis Cluster hash tag, so each batch
+ * is applied atomically by one Lua script.
+ *
+ * The counters are periodically replaced by the result of a single GROUP BY query, which corrects
+ * any drift, e.g. from events written by nodes that do not record the previous state.
+ */
+@Service
+@Slf4j
+public class StudentStatsService {
+
+    private static final String CLASS_COUNTS_KEY = "student_stats_class_{student_stats}";
+
+    private static final String AGE_COUNTS_KEY = "student_stats_age_{student_stats}";
+
+    private static final String APPLIED_KEY = "student_stats_applied_{student_stats}";
+
+    // The reconciled counters are written here first and then renamed over the live ones
+    private static final String CLASS_COUNTS_RECONCILED_KEY = "student_stats_class_reconciled_{student_stats}";
+
+    private static final String AGE_COUNTS_RECONCILED_KEY = "student_stats_age_reconciled_{student_stats}";
+
+    private static final String RECONCILE_LOCK_KEY = "student_stats_reconcile";
+
+    private static final String SEPARATOR = "|";
+
+    private static final long APPLIED_RETENTION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    // KEYS are the class counts, the age counts and the applied event IDs, in that order. ARGV
+    // starts with the current time and the time before which applied event IDs are forgotten,
+    // followed by (event ID, previous "age|class", current "age|class") triples. The event ID is
+    // empty for changes that were not relayed from the outbox, and a state is empty if there is none.
+    static final String APPLY_SCRIPT =
+            "for i = 3, #ARGV, 3 do " +
+            "  local id, previous, current = ARGV[i], ARGV[i + 1], ARGV[i + 2] " +
+            "  if id == '' or not redis.call('ZSCORE', KEYS[3], id) then " +
+            "    if previous ~= current then " +
+            "      if previous ~= '' then " +
+            "        local separator = string.find(previous, '|', 1, true) " +
+            "        local age = string.sub(previous, 1, separator - 1) " +
+            "        local class = string.sub(previous, separator + 1) " +
+            "        if redis.call('HINCRBY', KEYS[1], class, -1) <= 0 then redis.call('HDEL', KEYS[1], class) end " +
+            "        if redis.call('HINCRBY', KEYS[2], age, -1) <= 0 then redis.call('HDEL', KEYS[2], age) end " +
+            "      end " +
+            "      if current ~= '' then " +
+            "        local separator = string.find(current, '|', 1, true) " +
+            "        redis.call('HINCRBY', KEYS[1], string.sub(current, separator + 1), 1) " +
+            "        redis.call('HINCRBY', KEYS[2], string.sub(current, 1, separator - 1), 1) " +
+            "      end " +
+            "    end " +
+            "    if id ~= '' then redis.call('ZADD', KEYS[3], ARGV[1], id) end " +
+            "  end " +
+            "end " +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[3], '-inf', '(' .. ARGV[2]) " +
+            "return 0";
+
+    // KEYS are the class counts, the age counts and their reconciled replacements, in that order.
+    // A replacement that does not exist stands for an empty hash
+    static final String SWAP_SCRIPT =
+            "for i = 1, 2 do " +
+            "  if redis.call('EXISTS', KEYS[i + 2]) == 1 then " +
+            "    redis.call('RENAME', KEYS[i + 2], KEYS[i]) " +
+            "  else " +
+            "    redis.call('DEL', KEYS[i]) " +
+            "  end " +
+            "end " +
+            "return 0";
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Value("${student.stats.reconcile-interval-minutes:10}")
+    private long reconcileIntervalMinutes;
+
+    private ScheduledExecutorService reconciler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconciler = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "student-stats-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Only missing counters are built right away, instead of every starting node querying the table
+        long initialDelay = redissonClient.getMap(CLASS_COUNTS_KEY, StringCodec.INSTANCE).isExists() ? reconcileIntervalMinutes : 0;
+        reconciler.scheduleWithFixedDelay(this::reconcileSafely, initialDelay, reconcileIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the current statistics. The cost depends on the number of distinct classes and ages,
+     * not on the number of students.
+     *
+     * @return The total number of students and their distribution over classes and ages.
+     */
+    public StudentStats getStats() {
+        return toStats(redissonClient.<String, String>getMap(CLASS_COUNTS_KEY, StringCodec.INSTANCE).readAllMap(),
+                redissonClient.<String, String>getMap(AGE_COUNTS_KEY, StringCodec.INSTANCE).readAllMap());
+    }
+
+    /**
+     * Same as {@link #getStats()}, without blocking the calling thread. Both hashes are read
+     * concurrently.
+     *
+     * @return A future of the statistics.
+     */
+    public CompletableFuture<StudentStats> getStatsAsync() {
+        CompletableFuture<Map<String, String>> classCounts = redissonClient.<String, String>getMap(CLASS_COUNTS_KEY, StringCodec.INSTANCE)
+                .readAllMapAsync().toCompletableFuture();
+        CompletableFuture<Map<String, String>> ageCounts = redissonClient.<String, String>getMap(AGE_COUNTS_KEY, StringCodec.INSTANCE)
+                .readAllMapAsync().toCompletableFuture();
+        return classCounts.thenCombine(ageCounts, StudentStatsService::toStats);
+    }
+
+    private static StudentStats toStats(Map<String, String> classCounts, Map<String, String> ageCounts) {
+        Map<String, Long> byStudentClass = new TreeMap<>();
+        classCounts.forEach((studentClass, count) -> byStudentClass.put(studentClass, Long.parseLong(count)));
+        Map<Integer, Long> byAge = new TreeMap<>();
+        ageCounts.forEach((age, count) -> byAge.put(Integer.valueOf(age), Long.parseLong(count)));
+        long total = byStudentClass.values().stream().mapToLong(Long::longValue).sum();
+        return new StudentStats(total, byStudentClass, byAge);
+    }
+
+    @EventListener
+    public void onStudentsChanged(StudentChangeEvent event) {
+        long now = System.currentTimeMillis();
+        List<Object> args = new ArrayList<>(2 + event.getChanges().size() * 3);
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(now - APPLIED_RETENTION_MILLIS));
+        for (StudentChangeEvent.Change change : event.getChanges()) {
+            StudentDto student = change.getStudent();
+            args.add(change.getEventId() == null ? "" : String.valueOf(change.getEventId()));
+            args.add(toState(change.getPrevious()));
+            args.add(change.getType() == StudentChangeEvent.Type.DELETED ? "" : toState(student));
+        }
+        eval(APPLY_SCRIPT, List.of(CLASS_COUNTS_KEY, AGE_COUNTS_KEY, APPLIED_KEY), args.toArray());
+    }
+
+    /**
+     * Replaces the counters by the result of one GROUP BY query over the student table.
+     *
+     * The result has one row per class and age, so it stays small however many students there
+     * are. It is written to separate hashes first, which are then renamed over the live ones in
+     * one script, so readers never see partial counters. Only one node reconciles at a time, but
+     * the outbox relay keeps running meanwhile, so a change relayed while the query runs may be
+     * counted twice or not at all until the next reconcile.
+     */
+    public void reconcile() {
+        RLock lock = redissonClient.getLock(RECONCILE_LOCK_KEY);
+        if (!lock.tryLock()) {
+            log.debug("Student statistics not reconciled, another node is reconciling at the moment");
+            return;
+        }
+        try {
+            Map<String, Long> classCounts = new HashMap<>();
+            Map<String, Long> ageCounts = new HashMap<>();
+            long total = 0;
+            for (Object[] row : studentRepository.countByStudentClassAndAge()) {
+                long count = ((Number) row[2]).longValue();
+                classCounts.merge((String) row[0], count, Long::sum);
+                ageCounts.merge(String.valueOf(row[1]), count, Long::sum);
+                total += count;
+            }
+            replace(CLASS_COUNTS_RECONCILED_KEY, classCounts);
+            replace(AGE_COUNTS_RECONCILED_KEY, ageCounts);
+            eval(SWAP_SCRIPT, List.of(CLASS_COUNTS_KEY, AGE_COUNTS_KEY, CLASS_COUNTS_RECONCILED_KEY, AGE_COUNTS_RECONCILED_KEY));
+            log.info("Student statistics reconciled over {} students", total);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void replace(String key, Map<String, Long> counts) {
+        RMap<String, String> hash = redissonClient.getMap(key, StringCodec.INSTANCE);
+        hash.delete();
+        Map<String, String> values = new HashMap<>(counts.size());
+        counts.forEach((field, count) -> values.put(field, String.valueOf(count)));
+        hash.putAll(values);
+    }
+
+    private static String toState(StudentDto student) {
+        return student == null || student.getAge() == null ? "" : student.getAge() + SEPARATOR + student.getStudentClass();
+    }
+
+    private void eval(String script, List<Object> keys, Object... args) {
+        // All keys share the {student_stats} hash tag, so the script runs on a single node
+        redissonClient.getScript(StringCodec.INSTANCE).eval(CLASS_COUNTS_KEY, RScript.Mode.READ_WRITE, script, RScript.ReturnType.INTEGER,
+                keys, args);
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            // The counters keep being updated incrementally until the next attempt
+            log.error("Student statistics reconcile failed", e);
+        }
+    }
+}
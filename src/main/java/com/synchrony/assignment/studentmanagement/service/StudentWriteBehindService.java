@@ -0,0 +1,227 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind pipeline for student updates.
+ *
+ * Pending updates are kept in a Redis hash keyed by student ID, so they survive a restart of the
+ * application and several updates to the same student coalesce into the latest one. A background
+ * worker flushes the hash to the database in batched transactions every flush interval, which
+ * bounds how far the database lags behind. An entry is only removed from the hash if it was not
+ * replaced while it was being written, so a newer update is never lost. Search results and the
+ * name index catch up with a flushed batch through the change events of the student outbox.
+ *
+ * When the number of pending updates reaches the configured maximum, enqueue refuses the update
+ * and the caller writes it synchronously instead, which pushes back on the writers.
+ */
+@Service
+@Slf4j
+public class StudentWriteBehindService {
+
+    private static final String PENDING_KEY = "student_write_behind";
+
+    private static final String FLUSH_LOCK_KEY = "student_write_behind_flush";
+
+    public enum EnqueueResult {
+        // The update is queued
+        QUEUED,
+        // The pending update it was based on was replaced or flushed in the meantime
+        STALE,
+        // Write-behind is disabled or the queue is full, the caller must write the update itself
+        REJECTED
+    }
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${student.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${student.write-behind.flush-interval-ms:500}")
+    private long flushIntervalMillis;
+
+    @Value("${student.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${student.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    private RMap<Long, StudentDto> pending;
+
+    private RLock flushLock;
+
+    private ScheduledExecutorService worker;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        pending = redissonClient.getMap(PENDING_KEY);
+        flushLock = redissonClient.getLock(FLUSH_LOCK_KEY);
+        meterRegistry.gauge("student.write-behind.pending", pending, RMap::size);
+        worker = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "student-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes every pending update to the database before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        worker.shutdown();
+        try {
+            worker.awaitTermination(flushIntervalMillis * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an update of a student in place of the pending update it is based on.
+     *
+     * Comparing the pending update with the one the caller read and replacing it is one atomic
+     * operation on the hash, so of two updates based on the same pending update, e.g. carrying the
+     * same version, only one is queued. The other one gets STALE and has to be decided again.
+     *
+     * @param basedOn The pending update the caller read, or null if there was none.
+     * @param student The new information of the student.
+     * @return Whether the update was queued, was based on a pending update that is gone, or has to
+     *         be written by the caller.
+     */
+    public EnqueueResult enqueue(StudentDto basedOn, StudentDto student) {
+        if (!enabled) {
+            return EnqueueResult.REJECTED;
+        }
+        if (basedOn != null) {
+            return pending.replace(student.getId(), basedOn, student) ? EnqueueResult.QUEUED : EnqueueResult.STALE;
+        }
+        if (pending.size() >= maxPending) {
+            meterRegistry.counter("student.write-behind.rejected").increment();
+            return EnqueueResult.REJECTED;
+        }
+        return pending.fastPutIfAbsent(student.getId(), student) ? EnqueueResult.QUEUED : EnqueueResult.STALE;
+    }
+
+    /**
+     * Returns the update of a student that was not flushed to the database yet.
+     *
+     * @param id The unique identifier of the student.
+     * @return The pending information of the student, or null if there is none.
+     */
+    public StudentDto getPending(Long id) {
+        return enabled ? pending.get(id) : null;
+    }
+
+    /**
+     * Same as getPending, without blocking the calling thread.
+     */
+    public CompletableFuture<StudentDto> getPendingAsync(Long id) {
+        return enabled ? pending.getAsync(id).toCompletableFuture() : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Drops the pending update of a student, for example because the student was deleted.
+     *
+     * @param id The unique identifier of the student.
+     */
+    public void discard(Long id) {
+        if (enabled) {
+            pending.fastRemove(id);
+        }
+    }
+
+    /**
+     * Flushes all pending updates to the database, one batch at a time. Only one application
+     * node flushes at a time, so batches read by different nodes cannot overtake each other.
+     *
+     * @return The number of updates that were written.
+     */
+    public int flush() {
+        if (!flushLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int flushed = 0;
+            Map<Long, StudentDto> snapshot = pending.readAllMap();
+            List<StudentDto> batch = new ArrayList<>(Math.min(batchSize, snapshot.size()));
+            for (StudentDto student : snapshot.values()) {
+                batch.add(student);
+                if (batch.size() == batchSize) {
+                    flushed += writeBatch(batch);
+                }
+            }
+            flushed += writeBatch(batch);
+            return flushed;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int writeBatch(List<StudentDto> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        studentService.updateStudents(batch);
+        RBatch removals = redissonClient.createBatch(BatchOptions.defaults().skipResult());
+        RMapAsync<Long, StudentDto> pendingAsync = removals.getMap(PENDING_KEY);
+        for (StudentDto student : batch) {
+            // Keeps the entry if it was replaced by a newer update while this batch was written
+            pendingAsync.removeAsync(student.getId(), student);
+        }
+        removals.execute();
+        int written = batch.size();
+        meterRegistry.counter("student.write-behind.flushed").increment(written);
+        batch.clear();
+        return written;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Pending updates stay in the hash and are retried on the next run
+            log.error("Write-behind flush failed", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- The version every update increments, exposed to clients as the ETag of the student. Existing
+-- rows start at 0. INSTANT only changes the table metadata, so this neither copies nor locks the table.
+ALTER TABLE student
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ALGORITHM = INSTANT;
+
+-- Serves the keyset pagination of /student/all, which orders by update time and ID. The index
+-- is built online, so writes to the table continue while it is created.
+ALTER TABLE student
+    ADD INDEX idx_student_updated_at_id (updated_at, id),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,10 @@
+-- Changes of students that have been committed but not yet relayed to the caches and indexes,
+-- written in the same transaction as the change itself and deleted once relayed.
+CREATE TABLE student_outbox (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    student_id BIGINT      NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    payload    TEXT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,13 @@
+-- Schema as created by Hibernate before migrations were introduced. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate), so this only runs on empty ones.
+-- Everything added since has its own migration, which runs on existing databases as well.
+CREATE TABLE student (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255) NOT NULL,
+    age           VARCHAR(255) NOT NULL,
+    student_class VARCHAR(255) NOT NULL,
+    phone_number  DECIMAL(38, 0) NOT NULL,
+    created_at    DATETIME(6),
+    updated_at    DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,6 @@
+-- Expand: adds the numeric columns next to the old ones. INSTANT only changes the table
+-- metadata, so this neither copies nor locks the table.
+ALTER TABLE student
+    ADD COLUMN age_years SMALLINT NULL,
+    ADD COLUMN phone BIGINT NULL,
+    ALGORITHM = INSTANT;
@@ -0,0 +1,28 @@
+-- Dual write: while nodes of the previous release are still running during a rolling deploy,
+-- they only write age and phone_number, and this release only writes age_years and phone.
+-- These triggers keep each pair in step with the other, so neither release sees stale or
+-- missing values. The old columns become nullable because this release no longer inserts them.
+-- The old columns and the triggers are dropped in a later release, once no node writes them.
+-- With binary logging enabled, creating triggers needs SUPER or log_bin_trust_function_creators.
+ALTER TABLE student
+    MODIFY COLUMN age VARCHAR(255) NULL,
+    MODIFY COLUMN phone_number DECIMAL(38, 0) NULL,
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+CREATE TRIGGER student_sync_compact_insert BEFORE INSERT ON student FOR EACH ROW
+SET NEW.age_years = COALESCE(NEW.age_years,
+            CASE WHEN TRIM(NEW.age) REGEXP '^[0-9]{1,4}$' THEN CAST(TRIM(NEW.age) AS UNSIGNED) END),
+    NEW.phone = COALESCE(NEW.phone,
+            CASE WHEN NEW.phone_number BETWEEN 0 AND 9223372036854775807 THEN CAST(NEW.phone_number AS SIGNED) END),
+    NEW.age = COALESCE(NEW.age, CAST(NEW.age_years AS CHAR)),
+    NEW.phone_number = COALESCE(NEW.phone_number, NEW.phone);
+
+-- The pair whose value changed wins: the old column is rewritten first from a changed numeric
+-- column, then the numeric column is derived again from a changed old column.
+CREATE TRIGGER student_sync_compact_update BEFORE UPDATE ON student FOR EACH ROW
+SET NEW.age = IF(NEW.age_years <=> OLD.age_years, NEW.age, CAST(NEW.age_years AS CHAR)),
+    NEW.phone_number = IF(NEW.phone <=> OLD.phone, NEW.phone_number, NEW.phone),
+    NEW.age_years = IF(NEW.age <=> OLD.age, NEW.age_years,
+            CASE WHEN TRIM(NEW.age) REGEXP '^[0-9]{1,4}$' THEN CAST(TRIM(NEW.age) AS UNSIGNED) END),
+    NEW.phone = IF(NEW.phone_number <=> OLD.phone_number, NEW.phone,
+            CASE WHEN NEW.phone_number BETWEEN 0 AND 9223372036854775807 THEN CAST(NEW.phone_number AS SIGNED) END);
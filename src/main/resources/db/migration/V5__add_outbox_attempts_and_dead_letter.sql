@@ -0,0 +1,17 @@
+-- Counts the failed relay attempts of every outbox event. Events that keep failing are moved
+-- to the dead letter table, so that they no longer hold back the events behind them.
+ALTER TABLE student_outbox
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0,
+    ALGORITHM = INSTANT;
+
+CREATE TABLE student_outbox_dead_letter (
+    id         BIGINT        NOT NULL,
+    student_id BIGINT        NOT NULL,
+    event_type VARCHAR(16)   NOT NULL,
+    payload    TEXT,
+    created_at DATETIME(6)   NOT NULL,
+    attempts   INT           NOT NULL,
+    failed_at  DATETIME(6)   NOT NULL,
+    error      VARCHAR(1024),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,10 @@
+-- The age and class of the student before the change, from which the statistics counters derive
+-- their deltas. Events written by nodes of the previous release have none, and until the next
+-- reconcile their students are only added to the new counters.
+ALTER TABLE student_outbox
+    ADD COLUMN previous_payload TEXT NULL,
+    ALGORITHM = INSTANT;
+
+ALTER TABLE student_outbox_dead_letter
+    ADD COLUMN previous_payload TEXT NULL,
+    ALGORITHM = INSTANT;
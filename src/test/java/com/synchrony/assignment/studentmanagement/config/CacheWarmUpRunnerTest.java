@@ -0,0 +1,64 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.synchrony.assignment.studentmanagement.facade.StudentFacade;
+import com.synchrony.assignment.studentmanagement.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmUpRunnerTest {
+
+	private StudentFacade studentFacade;
+	private StudentService studentService;
+	private CacheWarmUpRunner runner;
+
+	@BeforeEach
+	void setUp() {
+		studentFacade = mock(StudentFacade.class);
+		studentService = mock(StudentService.class);
+		runner = new CacheWarmUpRunner();
+		ReflectionTestUtils.setField(runner, "studentFacade", studentFacade);
+		ReflectionTestUtils.setField(runner, "studentService", studentService);
+		ReflectionTestUtils.setField(runner, "enabled", true);
+		ReflectionTestUtils.setField(runner, "size", 5);
+		ReflectionTestUtils.setField(runner, "chunkSize", 2);
+		ReflectionTestUtils.setField(runner, "parallelism", 2);
+	}
+
+	@Test
+	void warmsTheMostRecentlyUpdatedStudentsInChunks() {
+		when(studentService.getRecentlyUpdatedIds(5)).thenReturn(List.of(5L, 4L, 3L, 2L, 1L));
+
+		runner.run(null);
+
+		verify(studentFacade).warmUpCache(List.of(5L, 4L));
+		verify(studentFacade).warmUpCache(List.of(3L, 2L));
+		verify(studentFacade).warmUpCache(List.of(1L));
+	}
+
+	@Test
+	void startsWithAColdCacheWhenTheWarmUpFails() {
+		when(studentService.getRecentlyUpdatedIds(5)).thenReturn(List.of(2L, 1L));
+		when(studentFacade.warmUpCache(anyList())).thenThrow(new IllegalStateException("Redis is down"));
+
+		runner.run(null);
+	}
+
+	@Test
+	void doesNothingWhenDisabled() {
+		ReflectionTestUtils.setField(runner, "enabled", false);
+
+		runner.run(null);
+
+		verify(studentService, never()).getRecentlyUpdatedIds(anyInt());
+	}
+}
@@ -0,0 +1,106 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+	private DataSource first;
+	private DataSource second;
+	private ReadWriteRoutingDataSource dataSource;
+
+	@BeforeEach
+	void setUp() {
+		first = mock(DataSource.class);
+		second = mock(DataSource.class);
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica-1", first);
+		replicas.put("replica-2", second);
+		dataSource = new ReadWriteRoutingDataSource(mock(DataSource.class), replicas);
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		ReadWriteRoutingDataSource.setPrimaryOnly(false);
+	}
+
+	@Test
+	void sendsTransactionsThatMayWriteToThePrimary() {
+		assertEquals(ReadWriteRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void spreadsReadOnlyTransactionsOverTheReplicas() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertEquals(List.of("replica-1", "replica-2", "replica-1"), lookups(3));
+	}
+
+	@Test
+	void skipsUnhealthyReplicasAndFallsBackToThePrimary() throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		healthy(first, true);
+		when(second.getConnection()).thenThrow(new SQLException("Connection refused"));
+		dataSource.checkReplicas();
+
+		assertEquals(List.of("replica-1", "replica-1"), lookups(2));
+		assertEquals(1, dataSource.getHealthyReplicaCount());
+
+		healthy(first, false);
+		dataSource.checkReplicas();
+
+		assertEquals(ReadWriteRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void readsFromThePrimaryWhileTheThreadIsPrimaryOnly() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		Object key = ReadWriteRoutingDataSource.onPrimary(() -> dataSource.determineCurrentLookupKey());
+
+		assertEquals(ReadWriteRoutingDataSource.PRIMARY, key);
+		// The previous routing is restored afterwards
+		assertFalse(ReadWriteRoutingDataSource.isPrimaryOnly());
+		assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void keepsTheOuterPrimaryOnlyRoutingAfterANestedCall() {
+		ReadWriteRoutingDataSource.setPrimaryOnly(true);
+
+		ReadWriteRoutingDataSource.onPrimary(() -> null);
+
+		assertTrue(ReadWriteRoutingDataSource.isPrimaryOnly());
+	}
+
+	private List<Object> lookups(int count) {
+		List<Object> keys = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			keys.add(dataSource.determineCurrentLookupKey());
+		}
+		return keys;
+	}
+
+	private static void healthy(DataSource replica, boolean valid) throws SQLException {
+		Connection connection = mock(Connection.class);
+		when(connection.isValid(1)).thenReturn(valid);
+		when(replica.getConnection()).thenReturn(connection);
+	}
+}
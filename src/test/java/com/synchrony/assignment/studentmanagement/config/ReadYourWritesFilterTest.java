@@ -0,0 +1,86 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadYourWritesFilterTest {
+
+	private final AtomicBoolean primaryOnly = new AtomicBoolean();
+
+	// Records the routing the request was handled with
+	private final FilterChain chain = (request, response) -> primaryOnly.set(ReadWriteRoutingDataSource.isPrimaryOnly());
+
+	private ReadYourWritesFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+		properties.setReadYourWritesMs(5000);
+		filter = new ReadYourWritesFilter();
+		ReflectionTestUtils.setField(filter, "properties", properties);
+	}
+
+	@Test
+	void marksAWritingClientAndRoutesTheWriteToThePrimary() throws Exception {
+		long before = System.currentTimeMillis();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(new MockHttpServletRequest("PUT", "/student/7"), response, chain);
+
+		assertTrue(primaryOnly.get());
+		Cookie cookie = response.getCookie("student_rw_until");
+		assertNotNull(cookie);
+		assertTrue(Long.parseLong(cookie.getValue()) >= before + 5000);
+		assertEquals(5, cookie.getMaxAge());
+		assertTrue(cookie.isHttpOnly());
+		assertEquals("/", cookie.getPath());
+	}
+
+	@Test
+	void readsFromThePrimaryUntilTheCookieExpires() throws Exception {
+		filter.doFilter(read(String.valueOf(System.currentTimeMillis() + 5000)), new MockHttpServletResponse(), chain);
+
+		assertTrue(primaryOnly.get());
+	}
+
+	@Test
+	void readsFromAReplicaWithoutOrAfterTheCookie() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/student/7"), response, chain);
+		assertFalse(primaryOnly.get());
+		assertNull(response.getCookie("student_rw_until"));
+
+		filter.doFilter(read(String.valueOf(System.currentTimeMillis() - 1)), new MockHttpServletResponse(), chain);
+		assertFalse(primaryOnly.get());
+
+		filter.doFilter(read("not a time"), new MockHttpServletResponse(), chain);
+		assertFalse(primaryOnly.get());
+	}
+
+	@Test
+	void resetsTheRoutingOfTheThreadAfterTheRequest() throws Exception {
+		filter.doFilter(new MockHttpServletRequest("POST", "/student"), new MockHttpServletResponse(), chain);
+
+		assertTrue(primaryOnly.get());
+		assertFalse(ReadWriteRoutingDataSource.isPrimaryOnly());
+	}
+
+	private static MockHttpServletRequest read(String until) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/student/7");
+		request.setCookies(new Cookie("student_rw_until", until));
+		return request;
+	}
+}
@@ -0,0 +1,92 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.Kryo5Codec;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentDtoCodecTest {
+
+	private final Kryo5Codec kryo = new Kryo5Codec();
+	private final StudentDtoCodec codec = new StudentDtoCodec(kryo);
+
+	@Test
+	void roundTripsStudents() throws IOException {
+		StudentDto student = student(42L, "Alice Johnson", 15, "10-A", 9876543210L);
+		student.setVersion(3L);
+		assertEquals(student, decode(codec, encode(codec, student)));
+
+		StudentDto sparse = new StudentDto();
+		sparse.setId(-7L);
+		assertEquals(sparse, decode(codec, encode(codec, sparse)));
+
+	}
+
+	@Test
+	void readsAgeWrittenAsString() throws IOException {
+		// Marker, format version, ID 42 and the age "15" as a length-delimited field
+		ByteBuf legacy = Unpooled.wrappedBuffer(new byte[]{(byte) 0xC5, 0x7D, 0x01, 0x08, 0x54, 0x1A, 0x02, '1', '5'});
+		StudentDto student = new StudentDto();
+		student.setId(42L);
+		student.setAge(15);
+		assertEquals(student, decode(codec, legacy));
+	}
+
+	@Test
+	void delegatesOtherValuesAndLegacyEntriesToFallback() throws IOException {
+		assertEquals("student_42", decode(codec, encode(codec, "student_42")));
+
+		StudentDto student = student(42L, "Alice", 15, "10-A", 10L);
+		assertEquals(student, decode(codec, encode(kryo, student)));
+	}
+
+	@Test
+	void skipsUnknownFields() throws IOException {
+		StudentDto student = student(42L, "Alice", 15, "10-A", 10L);
+		ByteBuf encoded = encode(codec, student);
+		// Field 15 as a varint and field 16 as a length-delimited value, written by a newer version
+		encoded.writeBytes(new byte[]{(byte) 0x78, 0x05, (byte) 0x82, 0x01, 0x02, 'h', 'i'});
+		assertEquals(student, decode(codec, encoded));
+	}
+
+	@Test
+	void isSmallerThanDefaultCodec() throws IOException {
+		StudentDto student = student(123456L, "Alice Johnson", 15, "10-A", 9876543210L);
+		int compactSize = encode(codec, student).readableBytes();
+		int kryoSize = encode(kryo, student).readableBytes();
+
+		assertTrue(compactSize < kryoSize, "compact=" + compactSize + " kryo5=" + kryoSize);
+	}
+
+	private static StudentDto student(Long id, String name, Integer age, String studentClass, Long phoneNumber) {
+		StudentDto student = new StudentDto();
+		student.setId(id);
+		student.setName(name);
+		student.setAge(age);
+		student.setStudentClass(studentClass);
+		student.setPhoneNumber(phoneNumber);
+		return student;
+	}
+
+	private static ByteBuf encode(Codec codec, Object value) throws IOException {
+		ByteBuf encoded = codec.getValueEncoder().encode(value);
+		ByteBuf copy = Unpooled.buffer().writeBytes(encoded);
+		encoded.release();
+		return copy;
+	}
+
+	private static Object decode(Codec codec, ByteBuf buf) throws IOException {
+		try {
+			return codec.getValueDecoder().decode(buf, null);
+		} finally {
+			buf.release();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.synchrony.assignment.studentmanagement.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.synchrony.assignment.studentmanagement.controller.StudentController;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentStats;
+import com.synchrony.assignment.studentmanagement.facade.StudentAsyncFacade;
+import com.synchrony.assignment.studentmanagement.facade.StudentFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StudentController.class)
+@Import(WebConfig.class)
+class WebConfigTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private RequestMappingHandlerAdapter handlerAdapter;
+
+	@Autowired
+	private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+	@MockitoBean
+	private StudentFacade studentFacade;
+
+	@MockitoBean
+	private StudentAsyncFacade studentAsyncFacade;
+
+	@MockitoBean
+	private ReplicaDataSourceProperties replicaDataSourceProperties;
+
+	@BeforeEach
+	void setUp() {
+		when(studentAsyncFacade.getStudentStats())
+				.thenAnswer((invocation) -> CompletableFuture.completedFuture(new StudentStats(2L, Map.of("10A", 2L), Map.of(15, 2L))));
+	}
+
+	@Test
+	void answersInSmileWhenTheClientAcceptsIt() throws Exception {
+		MvcResult result = mockMvc.perform(get("/student/stats").accept("application/x-jackson-smile")).andReturn();
+
+		byte[] body = mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-jackson-smile"))
+				.andReturn().getResponse().getContentAsByteArray();
+		JsonNode decoded = new ObjectMapper(new SmileFactory()).readTree(body);
+		assertEquals(2, decoded.path("data").path("total").asInt());
+	}
+
+	@Test
+	void keepsJsonAsTheDefault() throws Exception {
+		MvcResult result = mockMvc.perform(get("/student/stats").accept(MediaType.ALL)).andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void selectsTheConfiguredSmileConverterAfterTheJsonConverter() {
+		List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+		HttpMessageConverter<?> firstSmileConverter = converters.stream()
+				.filter(MappingJackson2SmileHttpMessageConverter.class::isInstance)
+				.findFirst().orElseThrow();
+
+		int jsonIndex = indexOfFirst(converters, MappingJackson2HttpMessageConverter.class);
+		assertSame(smileConverter, firstSmileConverter);
+		assertTrue(jsonIndex >= 0 && converters.indexOf(firstSmileConverter) > jsonIndex);
+	}
+
+	private static int indexOfFirst(List<HttpMessageConverter<?>> converters, Class<?> type) {
+		for (int i = 0; i < converters.size(); i++) {
+			if (type.isInstance(converters.get(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,105 @@
+package com.synchrony.assignment.studentmanagement.controller;
+
+import com.synchrony.assignment.studentmanagement.config.ReplicaDataSourceProperties;
+import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.exception.StudentVersionConflictException;
+import com.synchrony.assignment.studentmanagement.facade.StudentAsyncFacade;
+import com.synchrony.assignment.studentmanagement.facade.StudentFacade;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(StudentController.class)
+class StudentControllerTest {
+
+	private static final String BODY = "{\"name\":\"Ada\",\"age\":16,\"studentClass\":\"10B\",\"phoneNumber\":5550100}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private StudentFacade studentFacade;
+
+	@MockitoBean
+	private StudentAsyncFacade studentAsyncFacade;
+
+	@MockitoBean
+	private ReplicaDataSourceProperties replicaDataSourceProperties;
+
+	@Test
+	void returnsTheVersionOfAStudentAsItsETag() throws Exception {
+		when(studentAsyncFacade.getStudentById(7L)).thenReturn(CompletableFuture.completedFuture(student(3L)));
+		MvcResult result = mockMvc.perform(get("/student/id/7")).andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+	}
+
+	@Test
+	void answersNotModifiedWhenTheETagStillMatches() throws Exception {
+		when(studentAsyncFacade.getStudentById(7L)).thenReturn(CompletableFuture.completedFuture(student(3L)));
+		MvcResult result = mockMvc.perform(get("/student/id/7").header(HttpHeaders.IF_NONE_MATCH, "\"3\"")).andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void updatesConditionallyOnTheVersionInIfMatch() throws Exception {
+		when(studentAsyncFacade.updateStudentInfoById(any(CreateStudent.class), eq(7L), eq(3L)))
+				.thenReturn(CompletableFuture.completedFuture(true));
+		MvcResult result = mockMvc.perform(put("/student/7").header(HttpHeaders.IF_MATCH, "\"3\"")
+				.contentType(MediaType.APPLICATION_JSON).content(BODY)).andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk());
+		verify(studentAsyncFacade, never()).updateStudentInfoById(any(CreateStudent.class), anyLong());
+	}
+
+	@Test
+	void answersPreconditionFailedWhenTheStudentWasModifiedSince() throws Exception {
+		when(studentAsyncFacade.updateStudentInfoById(any(CreateStudent.class), eq(7L), eq(3L)))
+				.thenReturn(CompletableFuture.failedFuture(new StudentVersionConflictException("Student 7 was modified")));
+		MvcResult result = mockMvc.perform(put("/student/7").header(HttpHeaders.IF_MATCH, "\"3\"")
+				.contentType(MediaType.APPLICATION_JSON).content(BODY)).andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void answersPreconditionFailedForAMalformedIfMatch() throws Exception {
+		mockMvc.perform(put("/student/7").header(HttpHeaders.IF_MATCH, "\"abc\"")
+						.contentType(MediaType.APPLICATION_JSON).content(BODY))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	private static StudentDto student(Long version) {
+		StudentDto student = new StudentDto();
+		student.setId(7L);
+		student.setName("Ada");
+		student.setVersion(version);
+		return student;
+	}
+}
@@ -0,0 +1,153 @@
+package com.synchrony.assignment.studentmanagement.facade.impl;
+
+import com.synchrony.assignment.studentmanagement.config.ReadWriteRoutingDataSource;
+import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.exception.GlobalExceptionHandler;
+import com.synchrony.assignment.studentmanagement.exception.ServiceOverloadedException;
+import com.synchrony.assignment.studentmanagement.service.RequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentAsyncFacadeImplTest {
+
+	private StudentFacadeImpl studentFacade;
+	private StudentAsyncFacadeImpl asyncFacade;
+
+	@BeforeEach
+	void setUp() {
+		studentFacade = mock(StudentFacadeImpl.class);
+		asyncFacade = new StudentAsyncFacadeImpl();
+		ReflectionTestUtils.setField(asyncFacade, "studentFacade", studentFacade);
+		ReflectionTestUtils.setField(asyncFacade, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(asyncFacade, "jdbcThreads", 1);
+		ReflectionTestUtils.setField(asyncFacade, "queueSize", 1);
+		ReflectionTestUtils.setField(asyncFacade, "writeThreads", 1);
+		ReflectionTestUtils.setField(asyncFacade, "writeQueueSize", 1);
+		asyncFacade.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		asyncFacade.shutdown();
+		RequestPriority.clear();
+		ReadWriteRoutingDataSource.setPrimaryOnly(false);
+	}
+
+	@Test
+	void runsReadsWithThePriorityAndRoutingOfTheCaller() {
+		AtomicReference<RequestPriority> priority = new AtomicReference<>();
+		AtomicReference<Boolean> primaryOnly = new AtomicReference<>();
+		AtomicReference<String> threadName = new AtomicReference<>();
+		when(studentFacade.getAllStudentsInfo(anyInt(), anyInt(), isNull())).thenAnswer((invocation) -> {
+			priority.set(RequestPriority.current());
+			primaryOnly.set(ReadWriteRoutingDataSource.isPrimaryOnly());
+			threadName.set(Thread.currentThread().getName());
+			return List.of();
+		});
+		RequestPriority.set(RequestPriority.LOW);
+		ReadWriteRoutingDataSource.setPrimaryOnly(true);
+
+		asyncFacade.getAllStudentsInfo(10, 0, null).join();
+
+		assertEquals(RequestPriority.LOW, priority.get());
+		assertTrue(primaryOnly.get());
+		assertTrue(threadName.get().startsWith("student-jdbc-"));
+	}
+
+	@Test
+	void runsWritesOnTheirOwnPoolAndResetsTheWorkerThread() {
+		AtomicReference<String> threadName = new AtomicReference<>();
+		when(studentFacade.deleteStudent(anyLong())).thenAnswer((invocation) -> {
+			threadName.set(Thread.currentThread().getName());
+			return true;
+		});
+		AtomicReference<RequestPriority> leftPriority = new AtomicReference<>();
+		AtomicReference<Boolean> leftPrimaryOnly = new AtomicReference<>();
+		when(studentFacade.updateStudentInfoById(any(CreateStudent.class), anyLong())).thenAnswer((invocation) -> {
+			leftPriority.set(RequestPriority.current());
+			leftPrimaryOnly.set(ReadWriteRoutingDataSource.isPrimaryOnly());
+			return true;
+		});
+		RequestPriority.set(RequestPriority.LOW);
+		ReadWriteRoutingDataSource.setPrimaryOnly(true);
+		asyncFacade.deleteStudent(1L).join();
+
+		// The next task on the same single worker must not inherit the previous caller's state
+		RequestPriority.clear();
+		ReadWriteRoutingDataSource.setPrimaryOnly(false);
+		asyncFacade.updateStudentInfoById(CreateStudent.builder().build(), 1L).join();
+
+		assertTrue(threadName.get().startsWith("student-write-"));
+		assertEquals(RequestPriority.HIGH, leftPriority.get());
+		assertFalse(leftPrimaryOnly.get());
+	}
+
+	@Test
+	void failsWithServiceOverloadedWhenTheQueueIsFull() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(studentFacade.getAllStudentsInfo(anyInt(), anyInt(), isNull())).thenAnswer((invocation) -> {
+			started.countDown();
+			release.await();
+			return List.of();
+		});
+		CompletableFuture<?> running = asyncFacade.getAllStudentsInfo(10, 0, null);
+		assertTrue(started.await(1, TimeUnit.SECONDS));
+		CompletableFuture<?> queued = asyncFacade.getAllStudentsInfo(10, 0, null);
+
+		CompletableFuture<?> rejected = asyncFacade.getAllStudentsInfo(10, 0, null);
+
+		CompletionException e = assertThrows(CompletionException.class, rejected::join);
+		assertInstanceOf(ServiceOverloadedException.class, e.getCause());
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+				new GlobalExceptionHandler().handleOverload((ServiceOverloadedException) e.getCause()).getStatusCode());
+		release.countDown();
+		running.join();
+		queued.join();
+	}
+
+	@Test
+	void keepsReadsAvailableWhileTheWritePoolIsFull() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(studentFacade.deleteStudent(anyLong())).thenAnswer((invocation) -> {
+			started.countDown();
+			release.await();
+			return true;
+		});
+		when(studentFacade.getAllStudentsInfo(anyInt(), anyInt(), isNull())).thenReturn(List.of());
+		CompletableFuture<?> running = asyncFacade.deleteStudent(1L);
+		assertTrue(started.await(1, TimeUnit.SECONDS));
+		CompletableFuture<?> queued = asyncFacade.deleteStudent(2L);
+
+		CompletionException e = assertThrows(CompletionException.class, () -> asyncFacade.deleteStudent(3L).join());
+		assertInstanceOf(ServiceOverloadedException.class, e.getCause());
+		assertEquals(List.of(), asyncFacade.getAllStudentsInfo(10, 0, null).get(1, TimeUnit.SECONDS));
+		release.countDown();
+		running.join();
+		queued.join();
+	}
+}
@@ -0,0 +1,279 @@
+package com.synchrony.assignment.studentmanagement.facade.impl;
+
+import com.synchrony.assignment.studentmanagement.dto.request.CreateStudent;
+import com.synchrony.assignment.studentmanagement.dto.response.BulkCreateResult;
+import com.synchrony.assignment.studentmanagement.dto.response.BulkRowFailure;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import com.synchrony.assignment.studentmanagement.dto.response.StudentPage;
+import com.synchrony.assignment.studentmanagement.exception.ServiceOverloadedException;
+import com.synchrony.assignment.studentmanagement.exception.StudentNotFoundException;
+import com.synchrony.assignment.studentmanagement.exception.StudentVersionConflictException;
+import com.synchrony.assignment.studentmanagement.mapper.CursorMapper;
+import com.synchrony.assignment.studentmanagement.model.Student;
+import com.synchrony.assignment.studentmanagement.service.RedisService;
+import com.synchrony.assignment.studentmanagement.service.StudentIdFilter;
+import com.synchrony.assignment.studentmanagement.service.StudentService;
+import com.synchrony.assignment.studentmanagement.service.StudentWriteBehindService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentFacadeImplTest {
+
+	// Fails the test if a batched load is handed to the executor meant for blocking loads
+	private static final Executor NO_LOADS = (task) -> fail("A batched load must not run on the load executor");
+
+	private StudentService studentService;
+	private RedisService<StudentDto> redisService;
+	private StudentWriteBehindService writeBehindService;
+	private StudentFacadeImpl facade;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		studentService = mock(StudentService.class);
+		redisService = mock(RedisService.class);
+		facade = new StudentFacadeImpl();
+		ReflectionTestUtils.setField(facade, "studentService", studentService);
+		ReflectionTestUtils.setField(facade, "redisGenericService", redisService);
+		writeBehindService = mock(StudentWriteBehindService.class);
+		ReflectionTestUtils.setField(facade, "studentWriteBehindService", writeBehindService);
+		ReflectionTestUtils.setField(facade, "studentIdFilter", mock(StudentIdFilter.class));
+		ReflectionTestUtils.setField(facade, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+		ReflectionTestUtils.setField(facade, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(facade, "bulkChunkSize", 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		facade.shutdown();
+	}
+
+	@Test
+	void rejectsTheWholeLoadWhenOverloadedBeforeAnyRowIsStored() {
+		when(studentService.addStudents(anyList())).thenThrow(new ServiceOverloadedException("overloaded"));
+		assertThrows(ServiceOverloadedException.class, () -> facade.addStudents(rows(5)));
+	}
+
+	@Test
+	void reportsUnstoredRowsWhenOverloadedAfterRowsWereStored() {
+		when(studentService.addStudents(anyList()))
+				.thenReturn(2)
+				.thenThrow(new ServiceOverloadedException("overloaded"));
+
+		BulkCreateResult result = facade.addStudents(rows(5));
+
+		assertEquals(2, result.getCreated());
+		assertEquals(4, result.getReceived());
+		assertEquals(3, result.getFailed());
+		assertEquals(List.of(2, 3, 4), result.getFailures().stream().map(BulkRowFailure::getRow).collect(Collectors.toList()));
+	}
+
+	@Test
+	void invalidatesSearchResultsForTheNameOfAnAddedStudent() {
+		Student student = new Student();
+		student.setId(7L);
+		student.setName("Jos\u00e9");
+		when(studentService.addStudent(any(CreateStudent.class))).thenReturn(student);
+
+		facade.addStudent(CreateStudent.builder().name("Jos\u00e9").age(15).studentClass("10A").phoneNumber(5550100L).build());
+
+		verify(redisService).invalidateTags(List.of("search_name_{jose}"));
+	}
+
+	@Test
+	void invalidatesSearchResultsContainingADeletedStudent() {
+		when(studentService.deleteStudent(7L)).thenReturn(true);
+
+		facade.deleteStudent(7L);
+
+		verify(redisService).invalidateTags(List.of("search_student_{7}"));
+	}
+
+	@Test
+	void replacesTheCachedStudentOnlyIfStillCachedAfterAConditionalUpdate() {
+		CreateStudent update = CreateStudent.builder().name("Ada").age(16).studentClass("10B").phoneNumber(5550100L).build();
+		when(studentService.updateStudentInfoById(update, 7L, 3L)).thenReturn(true);
+
+		facade.updateStudentInfoById(update, 7L, 3L);
+
+		verify(redisService).replaceBucket(eq("student_{7}"), argThat((student) -> Long.valueOf(4L).equals(student.getVersion())));
+		verify(redisService, never()).bucketExists(anyString());
+		verify(redisService, never()).saveBucket(anyString(), any());
+	}
+
+	@Test
+	void queuesOnlyOneOfTwoConditionalUpdatesBasedOnTheSameVersion() {
+		when(writeBehindService.isEnabled()).thenReturn(true);
+		StudentDto queuedAtThree = pending(3L);
+		StudentDto queuedAtFour = pending(4L);
+		// The other request replaced the pending update between the read and the compare-and-set
+		when(writeBehindService.getPending(7L)).thenReturn(queuedAtThree, queuedAtFour);
+		when(writeBehindService.enqueue(eq(queuedAtThree), any(StudentDto.class))).thenReturn(StudentWriteBehindService.EnqueueResult.STALE);
+		CreateStudent update = CreateStudent.builder().name("Ada").age(16).studentClass("10B").phoneNumber(5550100L).build();
+
+		assertThrows(StudentVersionConflictException.class, () -> facade.updateStudentInfoById(update, 7L, 3L));
+
+		verify(studentService, never()).updateStudentInfoById(any(CreateStudent.class), anyLong(), anyLong());
+	}
+
+	@Test
+	void leavesAConditionalUpdateWithoutPendingUpdateToTheDatabase() {
+		when(writeBehindService.isEnabled()).thenReturn(true);
+		CreateStudent update = CreateStudent.builder().name("Ada").age(16).studentClass("10B").phoneNumber(5550100L).build();
+		when(studentService.updateStudentInfoById(update, 7L, 3L)).thenReturn(true);
+
+		facade.updateStudentInfoById(update, 7L, 3L);
+
+		verify(writeBehindService, never()).enqueue(any(), any());
+		verify(redisService).replaceBucket(eq("student_{7}"), argThat((student) -> Long.valueOf(4L).equals(student.getVersion())));
+	}
+
+	@Test
+	void warmsTheCacheWithoutOverwritingOrKeepingStudentsLocally() {
+		Student student = new Student();
+		student.setId(7L);
+		student.setName("Ada");
+		when(studentService.getStudentsByIds(List.of(7L, 8L))).thenReturn(List.of(student));
+		when(redisService.warmBuckets(anyMap())).thenReturn(1);
+
+		assertEquals(1, facade.warmUpCache(List.of(7L, 8L)));
+
+		verify(redisService).warmBuckets(argThat((buckets) -> buckets.keySet().equals(Set.of("student_{7}"))));
+		verify(redisService, never()).saveBuckets(anyMap());
+		verify(redisService, never()).saveBucket(anyString(), any());
+	}
+
+	@Test
+	void loadsAMissThroughTheBatchLoaderWithoutTheLoadExecutor() {
+		batchLoaded();
+		Student student = new Student();
+		student.setId(7L);
+		student.setName("Ada");
+		when(studentService.getStudentsByIds(List.of(7L))).thenReturn(List.of(student));
+
+		StudentDto result = facade.getStudentByIdAsync(7L, NO_LOADS).orTimeout(5, TimeUnit.SECONDS).join();
+
+		assertEquals(7L, result.getId());
+		verify(redisService).saveBuckets(argThat((buckets) -> buckets.containsKey("student_{7}")));
+	}
+
+	@Test
+	void marksAStudentMissingFromTheBatchAsAbsent() {
+		batchLoaded();
+		when(studentService.getStudentsByIds(List.of(7L))).thenReturn(List.of());
+
+		CompletionException failure = assertThrows(CompletionException.class,
+				() -> facade.getStudentByIdAsync(7L, NO_LOADS).orTimeout(5, TimeUnit.SECONDS).join());
+
+		assertInstanceOf(StudentNotFoundException.class, failure.getCause());
+		verify(redisService).markAbsentAsync(eq("student_absent_{7}"), anyLong());
+	}
+
+	@Test
+	void walksEveryStudentOnceAcrossPagesWithTiedUpdateTimes() {
+		LocalDateTime tied = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 500);
+		List<Student> table = List.of(student(1L, tied), student(2L, tied), student(3L, tied.plusNanos(1)), student(4L, tied),
+				student(5L, tied.minusSeconds(1)));
+		when(studentService.getStudentsPage(anyInt(), any(), anyString())).thenAnswer((invocation) ->
+				seek(table, invocation.getArgument(0), invocation.getArgument(1)));
+
+		List<Long> walked = new ArrayList<>();
+		String cursor = null;
+		do {
+			StudentPage page = facade.getAllStudentsInfo(2, cursor, "");
+			page.getStudents().forEach((student) -> walked.add(student.getId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertEquals(List.of(3L, 4L, 2L, 1L, 5L), walked);
+	}
+
+	// Same ordering and seek predicate as the native queries of StudentRepository
+	private static List<Student> seek(List<Student> table, int limit, CursorMapper.Cursor cursor) {
+		Comparator<Student> newestFirst = Comparator.comparing(Student::getUpdatedAt).thenComparing(Student::getId).reversed();
+		return table.stream()
+				.filter((s) -> cursor == null || s.getUpdatedAt().isBefore(cursor.getUpdatedAt())
+						|| (s.getUpdatedAt().isEqual(cursor.getUpdatedAt()) && s.getId() < cursor.getId()))
+				.sorted(newestFirst)
+				.limit(limit)
+				.collect(Collectors.toList());
+	}
+
+	private static Student student(Long id, LocalDateTime updatedAt) {
+		Student student = new Student();
+		student.setId(id);
+		student.setName("Student " + id);
+		student.setUpdatedAt(updatedAt);
+		return student;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void batchLoaded() {
+		ReflectionTestUtils.setField(facade, "batchLoaderEnabled", true);
+		ReflectionTestUtils.setField(facade, "batchLoaderWindowMicros", 100L);
+		ReflectionTestUtils.setField(facade, "batchLoaderMaxBatchSize", 100);
+		ReflectionTestUtils.setField(facade, "batchLoaderThreads", 1);
+		facade.init();
+		StudentIdFilter studentIdFilter = mock(StudentIdFilter.class);
+		when(studentIdFilter.mightExist(anyLong())).thenReturn(true);
+		ReflectionTestUtils.setField(facade, "studentIdFilter", studentIdFilter);
+		when(writeBehindService.getPendingAsync(anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+		when(redisService.isMarkedAbsentAsync(anyString())).thenReturn(CompletableFuture.completedFuture(false));
+		when(redisService.markAbsentAsync(anyString(), anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+		// A cache miss
+		when(redisService.getOrBatchLoadBucketAsync(anyString(), any(Supplier.class), any(Supplier.class), any(Runnable.class)))
+				.thenAnswer((invocation) -> ((Supplier<CompletableFuture<StudentDto>>) invocation.getArgument(1)).get());
+	}
+
+	private static StudentDto pending(Long version) {
+		StudentDto student = new StudentDto();
+		student.setId(7L);
+		student.setName("Ada");
+		student.setVersion(version);
+		return student;
+	}
+
+	private static InputStream rows(int count) {
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			body.append("{\"name\":\"Student ").append(i).append("\",\"age\":15,\"studentClass\":\"10A\",\"phoneNumber\":5550100}\n");
+		}
+		return new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,61 @@
+package com.synchrony.assignment.studentmanagement.mapper;
+
+import com.synchrony.assignment.studentmanagement.exception.InvalidCursorException;
+import com.synchrony.assignment.studentmanagement.model.Student;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorMapperTest {
+
+	@Test
+	void decodesThePositionOfTheEncodedStudent() {
+		LocalDateTime updatedAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+		CursorMapper.Cursor cursor = CursorMapper.decode(CursorMapper.encode(student(42L, updatedAt)));
+
+		assertEquals(updatedAt, cursor.getUpdatedAt());
+		assertEquals(42L, cursor.getId());
+	}
+
+	@Test
+	void keepsTheNanosecondsSoRowsUpdatedInTheSameSecondAreNotSkipped() {
+		LocalDateTime updatedAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 7);
+
+		assertEquals(updatedAt, CursorMapper.decode(CursorMapper.encode(student(1L, updatedAt))).getUpdatedAt());
+	}
+
+	@Test
+	void encodesAnUrlSafeTokenWithoutPadding() {
+		String token = CursorMapper.encode(student(Long.MAX_VALUE, LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999_999_999)));
+
+		assertFalse(token.contains("="));
+		assertFalse(token.contains("+"));
+		assertFalse(token.contains("/"));
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		assertThrows(InvalidCursorException.class, () -> CursorMapper.decode("not base64!"));
+		assertThrows(InvalidCursorException.class, () -> CursorMapper.decode(token("1700000000:5")));
+		assertThrows(InvalidCursorException.class, () -> CursorMapper.decode(token("1700000000.0:abc")));
+		assertThrows(InvalidCursorException.class, () -> CursorMapper.decode(""));
+	}
+
+	private static String token(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static Student student(Long id, LocalDateTime updatedAt) {
+		Student student = new Student();
+		student.setId(id);
+		student.setUpdatedAt(updatedAt);
+		return student;
+	}
+}
@@ -0,0 +1,111 @@
+package com.synchrony.assignment.studentmanagement.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class V4__BackfillCompactAgeAndPhoneTest {
+
+	// The bounds bound to each range update, (from, to]
+	private final List<List<Long>> ranges = new ArrayList<>();
+
+	private Connection connection;
+	private Context context;
+	private Statement statement;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		connection = mock(Connection.class);
+		when(connection.getAutoCommit()).thenReturn(false);
+		context = mock(Context.class);
+		when(context.getConnection()).thenReturn(connection);
+		statement = mock(Statement.class);
+		when(connection.createStatement()).thenReturn(statement);
+		PreparedStatement backfill = mock(PreparedStatement.class);
+		when(connection.prepareStatement(anyString())).thenReturn(backfill);
+		doAnswer((invocation) -> {
+			if (invocation.<Integer>getArgument(0) == 1) {
+				ranges.add(new ArrayList<>());
+			}
+			ranges.get(ranges.size() - 1).add(invocation.getArgument(1));
+			return null;
+		}).when(backfill).setLong(anyInt(), anyLong());
+		when(backfill.executeUpdate()).thenReturn(5000);
+	}
+
+	@Test
+	void walksTheTableInRangesOfIds() throws SQLException {
+		table(1, 12000, 0);
+
+		new V4__BackfillCompactAgeAndPhone().migrate(context);
+
+		assertEquals(List.of(List.of(0L, 5000L), List.of(5000L, 10000L), List.of(10000L, 15000L)), ranges);
+	}
+
+	@Test
+	void coversTheFirstIdWhenItStartsARange() throws SQLException {
+		table(5001, 5001, 0);
+
+		new V4__BackfillCompactAgeAndPhone().migrate(context);
+
+		assertEquals(List.of(List.of(5000L, 10000L)), ranges);
+	}
+
+	@Test
+	void commitsEveryRangeOnItsOwnAndRestoresAutoCommit() throws SQLException {
+		table(1, 10, 0);
+
+		new V4__BackfillCompactAgeAndPhone().migrate(context);
+
+		InOrder order = inOrder(connection);
+		order.verify(connection).setAutoCommit(true);
+		order.verify(connection).setAutoCommit(false);
+		assertFalse(new V4__BackfillCompactAgeAndPhone().canExecuteInTransaction());
+	}
+
+	@Test
+	void failsWhileRowsRemainUnconverted() throws SQLException {
+		table(1, 10, 2);
+
+		FlywayException failure = assertThrows(FlywayException.class, () -> new V4__BackfillCompactAgeAndPhone().migrate(context));
+
+		assertTrue(failure.getMessage().startsWith("2 students"));
+		InOrder order = inOrder(connection);
+		order.verify(connection).setAutoCommit(true);
+		order.verify(connection).setAutoCommit(false);
+	}
+
+	// Answers the ID range query, then the count of unconverted rows
+	private void table(long minId, long maxId, long unconverted) throws SQLException {
+		ResultSet range = mock(ResultSet.class);
+		when(range.next()).thenReturn(true);
+		when(range.getLong(1)).thenReturn(minId);
+		when(range.getLong(2)).thenReturn(maxId);
+		ResultSet count = mock(ResultSet.class);
+		when(count.next()).thenReturn(true);
+		when(count.getLong(1)).thenReturn(unconverted);
+		when(statement.executeQuery(anyString())).thenReturn(range, count);
+	}
+}
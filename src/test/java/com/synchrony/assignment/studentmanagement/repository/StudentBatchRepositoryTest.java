@@ -0,0 +1,110 @@
+package com.synchrony.assignment.studentmanagement.repository;
+
+import com.synchrony.assignment.studentmanagement.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentBatchRepositoryTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private StudentBatchRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		repository = new StudentBatchRepository();
+		ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+	}
+
+	@Test
+	void assignsTheGeneratedIdsInInsertOrder() {
+		List<Student> students = List.of(student("Ada"), student("Grace"), student("Linus"));
+		// The driver reports the keys of a rewritten multi-row insert as BigInteger, without counts
+		generates(new int[] {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO},
+				BigInteger.valueOf(11), BigInteger.valueOf(12), BigInteger.valueOf(13));
+
+		int inserted = repository.insertAll(students);
+
+		assertEquals(3, inserted);
+		assertEquals(List.of(11L, 12L, 13L), students.stream().map(Student::getId).collect(Collectors.toList()));
+		for (Student student : students) {
+			assertNotNull(student.getCreatedAt());
+			assertSame(student.getCreatedAt(), student.getUpdatedAt());
+			assertEquals(0L, student.getVersion());
+		}
+	}
+
+	@Test
+	void leavesStudentsWithoutGeneratedKeyUnassigned() {
+		List<Student> students = List.of(student("Ada"), student("Grace"));
+		generates(new int[] {1, 0}, 21L);
+
+		int inserted = repository.insertAll(students);
+
+		assertEquals(1, inserted);
+		assertEquals(21L, students.get(0).getId());
+		assertNull(students.get(1).getId());
+	}
+
+	@Test
+	void bindsEveryColumnOfEachRow() throws Exception {
+		Student student = student("Ada");
+		BatchPreparedStatementSetter[] setter = new BatchPreparedStatementSetter[1];
+		when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+				.thenAnswer((invocation) -> {
+					setter[0] = invocation.getArgument(1);
+					return new int[] {1};
+				});
+		repository.insertAll(List.of(student));
+		PreparedStatement ps = mock(PreparedStatement.class);
+
+		setter[0].setValues(ps, 0);
+
+		assertEquals(1, setter[0].getBatchSize());
+		verify(ps).setString(1, "Ada");
+		verify(ps).setInt(2, 16);
+		verify(ps).setString(3, "10B");
+		verify(ps).setLong(4, 5550100L);
+	}
+
+	private void generates(int[] counts, Number... keys) {
+		when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+				.thenAnswer((invocation) -> {
+					KeyHolder keyHolder = invocation.getArgument(2);
+					for (Number key : keys) {
+						keyHolder.getKeyList().add(Map.of("GENERATED_KEY", key));
+					}
+					return counts;
+				});
+	}
+
+	private static Student student(String name) {
+		Student student = new Student();
+		student.setName(name);
+		student.setAge(16);
+		student.setStudentClass("10B");
+		student.setPhoneNumber(5550100L);
+		return student;
+	}
+}
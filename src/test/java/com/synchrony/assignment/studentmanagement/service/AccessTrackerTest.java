@@ -0,0 +1,64 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccessTrackerTest {
+
+	private static final long WINDOW_NANOS = 1_000;
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void countsReadsOfEachKeyWithinTheWindow() {
+		AccessTracker tracker = new AccessTracker(10, WINDOW_NANOS, now::get);
+
+		assertEquals(1, tracker.recordAccess("a"));
+		assertEquals(2, tracker.recordAccess("a"));
+		assertEquals(1, tracker.recordAccess("b"));
+		now.set(WINDOW_NANOS - 1);
+		assertEquals(3, tracker.recordAccess("a"));
+	}
+
+	@Test
+	void dropsAllCountsWhenTheWindowEnds() {
+		AccessTracker tracker = new AccessTracker(10, WINDOW_NANOS, now::get);
+		tracker.recordAccess("a");
+		tracker.recordAccess("a");
+
+		now.set(WINDOW_NANOS);
+
+		assertEquals(1, tracker.recordAccess("a"));
+		assertEquals(2, tracker.recordAccess("a"));
+	}
+
+	@Test
+	void startsTheNextWindowAtTheFirstReadAfterTheEnd() {
+		AccessTracker tracker = new AccessTracker(10, WINDOW_NANOS, now::get);
+		tracker.recordAccess("a");
+
+		now.set(WINDOW_NANOS * 5 / 2);
+		tracker.recordAccess("a");
+		now.set(WINDOW_NANOS * 3);
+
+		// The window restarted at 2.5 windows, so it has not ended yet
+		assertEquals(2, tracker.recordAccess("a"));
+	}
+
+	@Test
+	void ignoresNewKeysOnceFullUntilTheNextWindow() {
+		AccessTracker tracker = new AccessTracker(2, WINDOW_NANOS, now::get);
+		tracker.recordAccess("a");
+		tracker.recordAccess("b");
+
+		assertEquals(0, tracker.recordAccess("c"));
+		assertEquals(2, tracker.recordAccess("a"));
+
+		now.set(WINDOW_NANOS);
+
+		assertEquals(1, tracker.recordAccess("c"));
+	}
+}
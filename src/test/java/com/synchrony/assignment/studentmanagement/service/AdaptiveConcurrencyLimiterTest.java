@@ -0,0 +1,70 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+		return new AdaptiveConcurrencyLimiter(initialLimit, 2, 50, THRESHOLD, 0.5, 0.5, clock::get);
+	}
+
+	@Test
+	void rejectsLowPriorityFirst() {
+		AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+		assertTrue(limiter.tryAcquire(RequestPriority.LOW));
+		assertTrue(limiter.tryAcquire(RequestPriority.LOW));
+		assertFalse(limiter.tryAcquire(RequestPriority.LOW));
+		assertTrue(limiter.tryAcquire(RequestPriority.HIGH));
+		assertTrue(limiter.tryAcquire(RequestPriority.HIGH));
+		assertFalse(limiter.tryAcquire(RequestPriority.HIGH));
+		assertEquals(4, limiter.getInFlight());
+	}
+
+	@Test
+	void backsOffOncePerThresholdPeriodOnSlowCalls() {
+		AdaptiveConcurrencyLimiter limiter = limiter(16);
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(RequestPriority.HIGH);
+		}
+
+		limiter.release(THRESHOLD * 2, false);
+		limiter.release(THRESHOLD * 2, false);
+		assertEquals(8, limiter.getLimit());
+
+		clock.addAndGet(THRESHOLD);
+		limiter.release(0, true);
+		assertEquals(4, limiter.getLimit());
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	void growsOnlyWhileTheLimitIsInUse() {
+		AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+		limiter.tryAcquire(RequestPriority.HIGH);
+		limiter.release(0, false);
+		assertEquals(4, limiter.getLimit());
+
+		for (int round = 0; round < 8; round++) {
+			for (int i = 0; i < limiter.getLimit(); i++) {
+				limiter.tryAcquire(RequestPriority.HIGH);
+			}
+			while (limiter.getInFlight() > 0) {
+				limiter.release(0, false);
+			}
+		}
+		assertTrue(limiter.getLimit() > 4);
+	}
+}
@@ -0,0 +1,109 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchLoaderTest {
+
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+	private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+	private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private BatchLoader<Long, String> loader(int maxBatchSize, Function<List<Long>, Map<Long, String>> batchFunction) {
+		return loader(maxBatchSize, TimeUnit.MILLISECONDS.toNanos(20), batchFunction);
+	}
+
+	private BatchLoader<Long, String> loader(int maxBatchSize, long windowNanos, Function<List<Long>, Map<Long, String>> batchFunction) {
+		return new BatchLoader<>((keys) -> {
+			batches.add(keys);
+			threads.add(Thread.currentThread());
+			return batchFunction.apply(keys);
+		}, maxBatchSize, windowNanos, executor, (size) -> { });
+	}
+
+	private static Map<Long, String> evenOnly(List<Long> keys) {
+		return keys.stream().filter((key) -> key % 2 == 0).collect(Collectors.toMap((key) -> key, (key) -> "student " + key));
+	}
+
+	@Test
+	void coalescesKeysRequestedWithinTheWindow() {
+		BatchLoader<Long, String> loader = loader(100, BatchLoaderTest::evenOnly);
+
+		CompletableFuture<String> first = loader.load(2L);
+		CompletableFuture<String> second = loader.load(3L);
+		CompletableFuture<String> duplicate = loader.load(2L);
+
+		assertEquals("student 2", first.join());
+		assertNull(second.join());
+		assertSame(first, duplicate);
+		assertEquals(List.of(List.of(2L, 3L)), batches);
+	}
+
+	@Test
+	void dispatchesFullBatchesRightAway() {
+		// A window long enough for the test to time out if the full batch waited for it
+		BatchLoader<Long, String> loader = loader(2, TimeUnit.MINUTES.toNanos(10), BatchLoaderTest::evenOnly);
+
+		CompletableFuture<String> first = loader.load(2L);
+		CompletableFuture<String> second = loader.load(4L);
+
+		assertEquals("student 2", first.orTimeout(5, TimeUnit.SECONDS).join());
+		assertEquals("student 4", second.join());
+		assertEquals(List.of(List.of(2L, 4L)), batches);
+		// On the executor, not on the caller thread that filled the batch
+		assertNotSame(Thread.currentThread(), threads.get(0));
+	}
+
+	@Test
+	void failsEveryKeyOfAFailedBatch() {
+		BatchLoader<Long, String> loader = loader(100, (keys) -> {
+			throw new IllegalStateException("database unavailable");
+		});
+
+		CompletableFuture<String> first = loader.load(1L);
+		CompletableFuture<String> second = loader.load(2L);
+
+		assertThrows(CompletionException.class, first::join);
+		assertThrows(CompletionException.class, second::join);
+	}
+
+	@Test
+	void failsTheKeysOfABatchThatCannotBeScheduled() {
+		BatchLoader<Long, String> loader = loader(100, BatchLoaderTest::evenOnly);
+		executor.shutdown();
+
+		CompletableFuture<String> first = loader.load(2L);
+		CompletableFuture<String> second = loader.load(4L);
+
+		CompletionException failure = assertThrows(CompletionException.class, first::join);
+		assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+		assertThrows(CompletionException.class, second::join);
+		assertEquals(List.of(), batches);
+	}
+}
@@ -0,0 +1,45 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+	@Test
+	void neverRejectsAddedValues() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (long id = 1; id <= 10_000; id++) {
+			filter.put(id);
+		}
+		for (long id = 1; id <= 10_000; id++) {
+			assertTrue(filter.mightContain(id));
+		}
+	}
+
+	@Test
+	void keepsFalsePositivesNearTheConfiguredRate() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (long id = 1; id <= 10_000; id++) {
+			filter.put(id);
+		}
+		int falsePositives = 0;
+		for (long id = 10_001; id <= 110_000; id++) {
+			if (filter.mightContain(id)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+		assertEquals(0.01, filter.expectedFalsePositiveProbability(), 0.005);
+	}
+
+	@Test
+	void reportsNoFalsePositivesWhenEmpty() {
+		BloomFilter filter = new BloomFilter(100, 0.01);
+
+		assertEquals(0.0, filter.expectedFalsePositiveProbability());
+		assertFalse(filter.mightContain(42L));
+	}
+}
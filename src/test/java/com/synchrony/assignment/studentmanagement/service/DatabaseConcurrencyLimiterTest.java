@@ -0,0 +1,115 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.config.ConcurrencyLimitConfig;
+import com.synchrony.assignment.studentmanagement.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DatabaseConcurrencyLimiterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private DatabaseConcurrencyLimiter limiter;
+
+	private Advisor advisor;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		limiter = new DatabaseConcurrencyLimiter();
+		ReflectionTestUtils.setField(limiter, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(limiter, "limiterEnabled", true);
+		ReflectionTestUtils.setField(limiter, "initialLimit", 1);
+		ReflectionTestUtils.setField(limiter, "minLimit", 1);
+		ReflectionTestUtils.setField(limiter, "maxLimit", 1);
+		ReflectionTestUtils.setField(limiter, "latencyThresholdMillis", 250L);
+		ReflectionTestUtils.setField(limiter, "backoffRatio", 0.9);
+		ReflectionTestUtils.setField(limiter, "lowPriorityShare", 0.5);
+		limiter.init();
+		ObjectProvider<DatabaseConcurrencyLimiter> provider = mock(ObjectProvider.class);
+		when(provider.getObject()).thenReturn(limiter);
+		advisor = ConcurrencyLimitConfig.concurrencyLimitAdvisor(provider);
+	}
+
+	@Test
+	void admitsOneUnitOfWorkForAllTheCallsItMakes() {
+		Work work = proxy(new Work());
+
+		// The nested calls go through the target directly, only the outer call is admitted
+		assertEquals(3, work.limited(3));
+		assertEquals(0.0, meterRegistry.get("student.limiter.in-flight").gauge().value());
+	}
+
+	@Test
+	void rejectsBeforeTheUnitOfWorkStartsWhenTheLimitIsReached() {
+		Work target = new Work();
+		Work work = proxy(target);
+		target.inner = work;
+
+		// The outer call holds the only permit, so the nested limited call is rejected without running
+		assertThrows(ServiceOverloadedException.class, () -> work.limited(1));
+		assertEquals(1, target.runs.get());
+		assertEquals(1.0, meterRegistry.get("student.limiter.rejected").counter().count());
+		assertEquals(0.0, meterRegistry.get("student.limiter.in-flight").gauge().value());
+	}
+
+	@Test
+	void doesNotLimitUnannotatedMethods() {
+		Work target = new Work();
+		Work work = proxy(target);
+		target.inner = work;
+
+		assertEquals(1, work.unlimited());
+	}
+
+	@Test
+	void runsOutsideTheTransaction() {
+		// The transaction advisor keeps the default order of @EnableTransactionManagement, the lowest precedence
+		assertEquals(Ordered.HIGHEST_PRECEDENCE, ((DefaultPointcutAdvisor) advisor).getOrder());
+	}
+
+	private Work proxy(Work target) {
+		ProxyFactory factory = new ProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAdvisor(advisor);
+		return (Work) factory.getProxy();
+	}
+
+	static class Work {
+
+		private final AtomicInteger runs = new AtomicInteger();
+
+		private Work inner;
+
+		@ConcurrencyLimited
+		public int limited(int calls) {
+			runs.incrementAndGet();
+			if (inner != null) {
+				return inner.limited(calls);
+			}
+			int done = 0;
+			for (int i = 0; i < calls; i++) {
+				done++;
+			}
+			return done;
+		}
+
+		public int unlimited() {
+			return inner == null ? 0 : 1;
+		}
+	}
+}
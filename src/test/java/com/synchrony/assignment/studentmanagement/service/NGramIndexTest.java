@@ -0,0 +1,66 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NGramIndexTest {
+
+	@Test
+	void findsSubstringsIgnoringCase() {
+		NGramIndex index = new NGramIndex();
+		index.put(1L, "Alice Johnson");
+		index.put(2L, "ALICIA Keys");
+		index.put(3L, "Bob");
+
+		assertArrayEquals(new long[]{1L, 2L}, index.search("alic", 10));
+		assertArrayEquals(new long[]{1L}, index.search("CE JO", 10));
+		assertArrayEquals(new long[]{3L}, index.search("ob", 10));
+		assertArrayEquals(new long[]{1L, 2L, 3L}, index.search("", 10));
+		assertArrayEquals(new long[0], index.search("xyz", 10));
+	}
+
+	@Test
+	void findsSubstringsIgnoringAccents() {
+		NGramIndex index = new NGramIndex();
+		index.put(1L, "Jos\u00e9 Mart\u00ednez");
+		index.put(2L, "Josefine");
+
+		assertArrayEquals(new long[]{1L, 2L}, index.search("jose", 10));
+		assertArrayEquals(new long[]{1L}, index.search("MARTINEZ", 10));
+		assertArrayEquals(new long[]{1L}, index.search("\u00e9 m", 10));
+	}
+
+	@Test
+	void rejectsGramsThatAreNotAdjacent() {
+		NGramIndex index = new NGramIndex();
+		index.put(1L, "abcxbcd");
+
+		assertArrayEquals(new long[0], index.search("abcd", 10));
+		assertArrayEquals(new long[]{1L}, index.search("xbcd", 10));
+	}
+
+	@Test
+	void reflectsUpdatesAndRemovals() {
+		NGramIndex index = new NGramIndex();
+		index.put(1L, "Alice");
+		index.put(1L, "Carol");
+		index.put(2L, "Alina");
+		index.remove(2L);
+
+		assertArrayEquals(new long[0], index.search("ali", 10));
+		assertArrayEquals(new long[]{1L}, index.search("aro", 10));
+	}
+
+	@Test
+	void returnsNullWhenTooManyMatches() {
+		NGramIndex index = new NGramIndex();
+		for (long id = 1; id <= 5; id++) {
+			index.put(id, "Student " + id);
+		}
+
+		assertNull(index.search("student", 3));
+		assertNull(index.search("s", 3));
+	}
+}
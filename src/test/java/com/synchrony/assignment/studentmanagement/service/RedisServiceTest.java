@@ -0,0 +1,369 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucket;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RList;
+import org.redisson.api.RScript;
+import org.redisson.api.RSetAsync;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.JsonJacksonCodec;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisServiceTest {
+
+	private static final String KEY = "student_{1}";
+
+	// Fails the test if a cache hit reaches the executor meant for blocking loads
+	private static final Executor NO_LOADS = (task) -> fail("A cache hit must not run on the load executor");
+
+	private RedissonClient redissonClient;
+	private RedisService<StudentDto> redisService;
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private final Map<String, List<String>> lists = new HashMap<>();
+	private final Map<String, Long> expiries = new HashMap<>();
+
+	@BeforeEach
+	void setUp() {
+		redissonClient = mock(RedissonClient.class);
+		when(redissonClient.getTopic("student_cache_invalidation")).thenReturn(mock(RTopic.class));
+		redisService = new RedisService<>();
+		ReflectionTestUtils.setField(redisService, "redissonClient", redissonClient);
+		ReflectionTestUtils.setField(redisService, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(redisService, "ttl", 600L);
+		ReflectionTestUtils.setField(redisService, "nearCacheEnabled", true);
+		ReflectionTestUtils.setField(redisService, "nearCacheMaxSize", 100);
+		ReflectionTestUtils.setField(redisService, "nearCacheTtl", 30L);
+		ReflectionTestUtils.setField(redisService, "ttlJitter", 0.1);
+		ReflectionTestUtils.setField(redisService, "refreshThreshold", 0.2);
+		ReflectionTestUtils.setField(redisService, "refreshMinAccesses", 1);
+		ReflectionTestUtils.setField(redisService, "accessWindowSeconds", 60L);
+		ReflectionTestUtils.setField(redisService, "maxTrackedKeys", 100);
+		ReflectionTestUtils.setField(redisService, "refreshThreads", 1);
+		ReflectionTestUtils.setField(redisService, "refreshQueueSize", 10);
+	}
+
+	@AfterEach
+	void tearDown() {
+		redisService.shutdown();
+	}
+
+	@Test
+	void bucketHitCompletesWithoutTheLoadExecutor() {
+		redisService.init();
+		StudentDto cached = student(1L);
+		bucket(cached);
+
+		StudentDto result = redisService.getOrLoadBucketAsync(KEY, this::load, () -> fail("Not a miss"), NO_LOADS).join();
+
+		assertSame(cached, result);
+		assertEquals(0, loads.get());
+	}
+
+	@Test
+	void bucketMissLoadsOnTheGivenExecutorAndCachesTheValue() {
+		redisService.init();
+		RBucket<StudentDto> bucket = bucket(null);
+		AtomicInteger misses = new AtomicInteger();
+		AtomicInteger executed = new AtomicInteger();
+		Executor executor = (task) -> {
+			executed.incrementAndGet();
+			task.run();
+		};
+
+		StudentDto result = redisService.getOrLoadBucketAsync(KEY, this::load, misses::incrementAndGet, executor).join();
+
+		assertEquals(1L, result.getId());
+		assertEquals(1, executed.get());
+		assertEquals(1, misses.get());
+		assertEquals(1, loads.get());
+		verify(bucket).set(eq(result), anyLong(), eq(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void listHitCompletesWithoutTheLoadExecutor() {
+		redisService.init();
+		RList<StudentDto> list = mock(RList.class);
+		when(redissonClient.<StudentDto>getList("search_{ada}")).thenReturn(list);
+		when(list.readAllAsync()).thenReturn(new CompletableFutureWrapper<>(List.of(student(1L))));
+
+		List<StudentDto> result = redisService.getOrLoadListAsync("search_{ada}", () -> List.of(load()), (items) -> List.of(),
+				() -> fail("Not a miss"), NO_LOADS).join();
+
+		assertEquals(1, result.size());
+		assertEquals(0, loads.get());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void hotBucketAboutToExpireIsRefreshedOnlyIfItStillExists() {
+		ReflectionTestUtils.setField(redisService, "refreshAheadEnabled", true);
+		redisService.init();
+		StudentDto cached = student(1L);
+		RBatch batch = mock(RBatch.class);
+		RBucketAsync<Object> batchBucket = mock(RBucketAsync.class);
+		when(redissonClient.createBatch()).thenReturn(batch);
+		when(batch.getBucket(KEY)).thenReturn(batchBucket);
+		when(batchBucket.getAsync()).thenReturn(new CompletableFutureWrapper<>(cached));
+		// Within the last 20% of the 600 second TTL
+		when(batchBucket.remainTimeToLiveAsync()).thenReturn(new CompletableFutureWrapper<>(1_000L));
+		when(batch.executeAsync()).thenReturn(new CompletableFutureWrapper<>((BatchResult<?>) null));
+		RBucket<StudentDto> bucket = mock(RBucket.class);
+		when(redissonClient.<StudentDto>getBucket(KEY)).thenReturn(bucket);
+
+		StudentDto result = redisService.getOrLoadBucketAsync(KEY, this::load, () -> fail("Not a miss"), NO_LOADS).join();
+
+		assertSame(cached, result);
+		verify(bucket, timeout(1_000)).setIfExists(eq(student(1L)), anyLong(), eq(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void doesNotCacheAListWhoseTagsCouldNotBeWritten() {
+		redisService.init();
+		RBatch tagBatch = mock(RBatch.class);
+		when(redissonClient.createBatch()).thenReturn(tagBatch);
+		when(tagBatch.<String>getSet(eq("tag_search_student_{1}"), any())).thenReturn(mock(RSetAsync.class));
+		when(tagBatch.execute()).thenThrow(new RedisException("CLUSTERDOWN"));
+
+		assertThrows(RedisException.class, () -> redisService.saveTaggedList("search_{ada}", List.of(student(1L)), List.of("search_student_{1}")));
+
+		verify(redissonClient, never()).createBatch(any(BatchOptions.class));
+	}
+
+	@Test
+	void doesNotRecreateABucketEvictedBeforeTheReplace() {
+		redisService.init();
+		RBucket<StudentDto> bucket = bucket(null);
+		StudentDto updated = student(1L);
+		when(bucket.setIfExists(eq(updated), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(false);
+
+		assertFalse(redisService.replaceBucket(KEY, updated));
+
+		verify(bucket, never()).set(any(), anyLong(), any());
+		// Nor is the new value served from the near cache
+		redisService.getOrLoadBucketAsync(KEY, this::load, () -> { }, Runnable::run).join();
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void fillsOnlyBucketsThatAreNotCachedYet() {
+		redisService.init();
+		RBatch batch = mock(RBatch.class);
+		when(redissonClient.createBatch()).thenReturn(batch);
+		RBucketAsync<Object> absent = mock(RBucketAsync.class);
+		RBucketAsync<Object> cached = mock(RBucketAsync.class);
+		when(batch.getBucket(KEY)).thenReturn(absent);
+		when(batch.getBucket("student_{2}")).thenReturn(cached);
+		when(absent.setIfAbsentAsync(any(), any(Duration.class))).thenReturn(new CompletableFutureWrapper<>(true));
+		// Cached by an update since the value was loaded
+		when(cached.setIfAbsentAsync(any(), any(Duration.class))).thenReturn(new CompletableFutureWrapper<>(false));
+		RBucket<StudentDto> newer = bucket("student_{2}", student(2L));
+
+		redisService.saveBuckets(Map.of(KEY, student(1L), "student_{2}", student(2L)));
+
+		verify(absent).setIfAbsentAsync(eq(student(1L)), any(Duration.class));
+		verify(batch).execute();
+		// Only the value written is served from the near cache, the other one is read from Redis
+		bucket(null);
+		assertEquals(1L, redisService.getBucket(KEY).getId());
+		redisService.getBucket("student_{2}");
+		verify(newer).get();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void warmsBucketsWithoutKeepingThemInTheNearCache() {
+		redisService.init();
+		RBatch batch = mock(RBatch.class);
+		when(redissonClient.createBatch()).thenReturn(batch);
+		RBucketAsync<Object> batchBucket = mock(RBucketAsync.class);
+		when(batch.getBucket(KEY)).thenReturn(batchBucket);
+		when(batchBucket.setIfAbsentAsync(any(), any(Duration.class))).thenReturn(new CompletableFutureWrapper<>(true));
+		RBucket<StudentDto> bucket = bucket(student(1L));
+
+		assertEquals(1, redisService.warmBuckets(Map.of(KEY, student(1L))));
+
+		redisService.getBucket(KEY);
+		verify(bucket).get();
+	}
+
+	@Test
+	void replacesAListOnlyIfItIsStillCached() {
+		lists.put("search_{ada}", new ArrayList<>(List.of("old")));
+
+		assertEquals(1, runReplaceList("search_{ada}", "600000", "a", "b").toint());
+
+		assertEquals(List.of("a", "b"), lists.get("search_{ada}"));
+		assertEquals(600000L, expiries.get("search_{ada}"));
+	}
+
+	@Test
+	void leavesAnInvalidatedListInvalidated() {
+		assertEquals(0, runReplaceList("search_{ada}", "600000", "a").toint());
+
+		assertFalse(lists.containsKey("search_{ada}"));
+	}
+
+	@Test
+	void pushesLongListsInChunks() {
+		lists.put("search_{ada}", new ArrayList<>());
+		String[] args = new String[2501];
+		args[0] = "0";
+		for (int i = 1; i < args.length; i++) {
+			args[i] = String.valueOf(i);
+		}
+
+		runReplaceList("search_{ada}", args);
+
+		assertEquals(2500, lists.get("search_{ada}").size());
+		assertEquals("2500", lists.get("search_{ada}").get(2499));
+		assertFalse(expiries.containsKey("search_{ada}"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void replacesAListWithItsItemsEncodedByTheListCodec() throws Exception {
+		redisService.init();
+		Codec codec = new JsonJacksonCodec();
+		RList<StudentDto> list = mock(RList.class);
+		when(redissonClient.<StudentDto>getList("search_{ada}")).thenReturn(list);
+		when(list.getCodec()).thenReturn(codec);
+		RScript script = mock(RScript.class);
+		when(redissonClient.getScript(ByteArrayCodec.INSTANCE)).thenReturn(script);
+		when(script.eval(anyString(), any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class), anyList(), any(Object[].class)))
+				.thenReturn(1L);
+
+		assertTrue(redisService.replaceListIfExists("search_{ada}", List.of(student(1L))));
+
+		ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+		verify(script).eval(eq("search_{ada}"), eq(RScript.Mode.READ_WRITE), eq(RedisService.REPLACE_LIST_SCRIPT),
+				eq(RScript.ReturnType.INTEGER), eq(List.of("search_{ada}")), args.capture());
+		assertEquals(2, args.getValue().length);
+		long ttlMillis = Long.parseLong(new String((byte[]) args.getValue()[0], StandardCharsets.UTF_8));
+		assertTrue(ttlMillis >= 540_000 && ttlMillis <= 660_000);
+		ByteBuf encoded = Unpooled.wrappedBuffer((byte[]) args.getValue()[1]);
+		assertEquals(student(1L), codec.getValueDecoder().decode(encoded, null));
+	}
+
+	// Runs the list replace script against an in-memory stand-in for the Redis lists
+	private LuaValue runReplaceList(String key, String... args) {
+		Globals globals = JsePlatform.standardGlobals();
+		// Redis runs Lua 5.1, where unpack is a global function
+		globals.set("unpack", globals.get("table").get("unpack"));
+		LuaTable redis = new LuaTable();
+		redis.set("call", new VarArgFunction() {
+			@Override
+			public Varargs invoke(Varargs call) {
+				String command = call.checkjstring(1);
+				String target = call.checkjstring(2);
+				switch (command) {
+					case "EXISTS":
+						return lists.containsKey(target) ? LuaValue.ONE : LuaValue.ZERO;
+					case "DEL":
+						lists.remove(target);
+						expiries.remove(target);
+						return LuaValue.ONE;
+					case "RPUSH": {
+						List<String> list = lists.computeIfAbsent(target, (k) -> new ArrayList<>());
+						for (int i = 3; i <= call.narg(); i++) {
+							list.add(call.checkjstring(i));
+						}
+						return LuaValue.valueOf(list.size());
+					}
+					case "PEXPIRE":
+						expiries.put(target, call.checklong(3));
+						return LuaValue.ONE;
+					default:
+						throw new IllegalArgumentException("Unexpected command " + command);
+				}
+			}
+		});
+		globals.set("redis", redis);
+		LuaTable keys = new LuaTable();
+		keys.set(1, LuaValue.valueOf(key));
+		globals.set("KEYS", keys);
+		LuaTable argv = new LuaTable();
+		for (int i = 0; i < args.length; i++) {
+			argv.set(i + 1, LuaValue.valueOf(args[i]));
+		}
+		globals.set("ARGV", argv);
+		return globals.load(RedisService.REPLACE_LIST_SCRIPT).call();
+	}
+
+	private RBucket<StudentDto> bucket(StudentDto value) {
+		return bucket(KEY, value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private RBucket<StudentDto> bucket(String key, StudentDto value) {
+		RBucket<StudentDto> bucket = mock(RBucket.class);
+		when(redissonClient.<StudentDto>getBucket(key)).thenReturn(bucket);
+		when(bucket.getAsync()).thenReturn(new CompletableFutureWrapper<>(value));
+		when(bucket.get()).thenReturn(value);
+		return bucket;
+	}
+
+	private StudentDto load() {
+		loads.incrementAndGet();
+		return student(1L);
+	}
+
+	private static StudentDto student(Long id) {
+		StudentDto student = new StudentDto();
+		student.setId(id);
+		student.setName("Ada");
+		return student;
+	}
+}
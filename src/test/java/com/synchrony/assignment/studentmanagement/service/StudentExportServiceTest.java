@@ -0,0 +1,125 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synchrony.assignment.studentmanagement.dto.request.ExportFormat;
+import com.synchrony.assignment.studentmanagement.model.Student;
+import com.synchrony.assignment.studentmanagement.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentExportServiceTest {
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	private StudentService studentService;
+	private StudentExportService exportService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		studentService = mock(StudentService.class);
+		exportService = new StudentExportService();
+		ReflectionTestUtils.setField(exportService, "studentService", studentService);
+		ReflectionTestUtils.setField(exportService, "objectMapper", objectMapper);
+		List<Student> table = List.of(student(1L, "Ada", 16, "10B", 5550100L), student(2L, "Smith, \"Jo\"", null, null, null));
+		doAnswer((invocation) -> {
+			table.forEach(invocation.<Consumer<Student>>getArgument(0));
+			return null;
+		}).when(studentService).forEachStudent(any(Consumer.class));
+	}
+
+	@Test
+	void writesOneJsonObjectPerLine() throws IOException {
+		String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+		assertEquals(2, lines.length);
+		JsonNode first = objectMapper.readTree(lines[0]);
+		assertEquals(1L, first.get("id").asLong());
+		assertEquals("Ada", first.get("name").asText());
+		assertEquals(16, first.get("age").asInt());
+		assertEquals("10B", first.get("studentClass").asText());
+		assertEquals(5550100L, first.get("phoneNumber").asLong());
+		assertEquals("Smith, \"Jo\"", objectMapper.readTree(lines[1]).get("name").asText());
+	}
+
+	@Test
+	void writesCsvWithAHeaderAndQuotesValuesThatNeedIt() throws IOException {
+		assertEquals("id,name,age,studentClass,phoneNumber\n"
+				+ "1,Ada,16,10B,5550100\n"
+				+ "2,\"Smith, \"\"Jo\"\"\",,,\n", export(ExportFormat.CSV));
+	}
+
+	@Test
+	void surfacesAFailedWriteAsIOException() {
+		OutputStream closed = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+		};
+
+		assertThrows(IOException.class, () -> exportService.export(ExportFormat.NDJSON, closed));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void detachesEveryRowOnceItWasWritten() {
+		StudentRepository repository = mock(StudentRepository.class);
+		EntityManager entityManager = mock(EntityManager.class);
+		Student first = student(1L, "Ada", 16, "10B", 5550100L);
+		Student second = student(2L, "Grace", 17, "11A", 5550101L);
+		when(repository.streamAll()).thenReturn(Stream.of(first, second));
+		StudentService service = new StudentService();
+		ReflectionTestUtils.setField(service, "studentRepository", repository);
+		ReflectionTestUtils.setField(service, "entityManager", entityManager);
+		ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+		Consumer<Student> consumer = mock(Consumer.class);
+
+		service.forEachStudent(consumer);
+
+		// Each row leaves the persistence context before the next one is read
+		InOrder order = inOrder(consumer, entityManager);
+		order.verify(consumer).accept(first);
+		order.verify(entityManager).detach(first);
+		order.verify(consumer).accept(second);
+		order.verify(entityManager).detach(second);
+	}
+
+	private String export(ExportFormat format) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.export(format, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static Student student(Long id, String name, Integer age, String studentClass, Long phoneNumber) {
+		Student student = new Student();
+		student.setId(id);
+		student.setName(name);
+		student.setAge(age);
+		student.setStudentClass(studentClass);
+		student.setPhoneNumber(phoneNumber);
+		return student;
+	}
+}
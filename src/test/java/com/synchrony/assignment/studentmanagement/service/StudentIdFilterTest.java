@@ -0,0 +1,72 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentIdFilterTest {
+
+	private StudentRepository studentRepository;
+	private StudentIdFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		studentRepository = mock(StudentRepository.class);
+		RedissonClient redissonClient = mock(RedissonClient.class);
+		when(redissonClient.getTopic(anyString())).thenReturn(mock(RTopic.class));
+		filter = new StudentIdFilter();
+		ReflectionTestUtils.setField(filter, "studentRepository", studentRepository);
+		ReflectionTestUtils.setField(filter, "redissonClient", redissonClient);
+		ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(filter, "enabled", true);
+		ReflectionTestUtils.setField(filter, "falsePositiveProbability", 0.0001);
+		filter.init();
+		when(studentRepository.count()).thenReturn(3L);
+		when(studentRepository.findMaxId()).thenReturn(30L);
+	}
+
+	@Test
+	void letsEveryIdThroughBeforeTheFirstBuild() {
+		assertTrue(filter.mightExist(12L));
+	}
+
+	@Test
+	void rejectsMissingIdsUpToTheHighestIdAtBuildTime() {
+		when(studentRepository.findIdsAfter(anyLong(), any())).thenReturn(List.of(10L, 20L, 30L));
+		filter.rebuild();
+		assertTrue(filter.mightExist(20L));
+		assertFalse(filter.mightExist(15L));
+	}
+
+	@Test
+	void letsIdsNewerThanTheFilterThrough() {
+		when(studentRepository.findIdsAfter(anyLong(), any())).thenReturn(List.of(10L, 20L, 30L));
+		filter.rebuild();
+		// Created on another node after the build, its topic message may have been lost
+		assertTrue(filter.mightExist(31L));
+	}
+
+	@Test
+	void keepsIdsAddedWhileTheFilterIsBuilt() {
+		when(studentRepository.findIdsAfter(anyLong(), any())).thenAnswer((invocation) -> {
+			filter.put(15L);
+			return List.of(10L, 20L, 30L);
+		});
+		filter.rebuild();
+		assertTrue(filter.mightExist(15L));
+	}
+}
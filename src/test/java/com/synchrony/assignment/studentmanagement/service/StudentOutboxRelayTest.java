@@ -0,0 +1,122 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synchrony.assignment.studentmanagement.model.StudentOutboxEvent;
+import com.synchrony.assignment.studentmanagement.repository.StudentOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentOutboxRelayTest {
+
+	private static final long POISON_STUDENT = 2L;
+
+	private StudentOutboxRepository repository;
+	private StudentOutboxRelay relay;
+	private final List<Long> published = new ArrayList<>();
+	private boolean redisDown;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(StudentOutboxRepository.class);
+		ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+		doAnswer((invocation) -> {
+			StudentChangeEvent event = invocation.getArgument(0);
+			for (StudentChangeEvent.Change change : event.getChanges()) {
+				if (redisDown || change.getStudentId() == POISON_STUDENT) {
+					throw new IllegalStateException("listener failed");
+				}
+			}
+			event.getChanges().forEach((change) -> published.add(change.getStudentId()));
+			return null;
+		}).when(publisher).publishEvent(any(Object.class));
+		RedissonClient redissonClient = mock(RedissonClient.class);
+		RLock lock = mock(RLock.class);
+		when(lock.tryLock()).thenReturn(true);
+		when(redissonClient.getLock(anyString())).thenReturn(lock);
+
+		relay = new StudentOutboxRelay();
+		ReflectionTestUtils.setField(relay, "studentOutboxRepository", repository);
+		ReflectionTestUtils.setField(relay, "eventPublisher", publisher);
+		ReflectionTestUtils.setField(relay, "redissonClient", redissonClient);
+		ReflectionTestUtils.setField(relay, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(relay, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(relay, "enabled", true);
+		ReflectionTestUtils.setField(relay, "batchSize", 10);
+		ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+		relay.init();
+	}
+
+	@Test
+	void relaysTheOtherEventsAroundAFailingOne() {
+		when(repository.findOldest(anyInt())).thenReturn(List.of(event(1, 1, 0), event(2, POISON_STUDENT, 0), event(3, 3, 0)));
+
+		assertEquals(2, relay.relay());
+
+		assertEquals(List.of(1L, 3L), published);
+		verify(repository).incrementAttempts(2L);
+		verify(repository, never()).moveToDeadLetter(anyLong(), anyString());
+	}
+
+	@Test
+	void keepsLaterChangesOfAStudentBehindItsFailedChange() {
+		when(repository.findOldest(anyInt())).thenReturn(List.of(event(1, POISON_STUDENT, 0), event(2, 1, 0), event(3, POISON_STUDENT, 0)));
+
+		relay.relay();
+
+		assertEquals(List.of(1L), published);
+		verify(repository).incrementAttempts(1L);
+		verify(repository, never()).incrementAttempts(3L);
+	}
+
+	@Test
+	void movesAnEventToTheDeadLetterTableAfterMaxAttempts() {
+		when(repository.findOldest(anyInt())).thenReturn(List.of(event(1, 1, 0), event(2, POISON_STUDENT, 2)));
+
+		assertEquals(2, relay.relay());
+
+		verify(repository).moveToDeadLetter(eq(2L), anyString());
+		verify(repository, never()).incrementAttempts(anyLong());
+	}
+
+	@Test
+	void doesNotCountAttemptsWhileNothingCanBeRelayed() {
+		redisDown = true;
+		when(repository.findOldest(anyInt())).thenReturn(List.of(event(1, 1, 2), event(2, 3, 2)));
+
+		assertEquals(0, relay.relay());
+
+		verify(repository, never()).incrementAttempts(anyLong());
+		verify(repository, never()).moveToDeadLetter(anyLong(), anyString());
+	}
+
+	private static StudentOutboxEvent event(long id, long studentId, int attempts) {
+		StudentOutboxEvent event = new StudentOutboxEvent();
+		event.setId(id);
+		event.setStudentId(studentId);
+		event.setEventType(StudentChangeEvent.Type.DELETED.name());
+		event.setCreatedAt(LocalDateTime.now());
+		event.setAttempts(attempts);
+		return event;
+	}
+}
@@ -0,0 +1,209 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentStatsServiceTest {
+
+	private static final String[] APPLY_KEYS = {"class", "age", "applied"};
+
+	private static final String[] SWAP_KEYS = {"class", "age", "class_reconciled", "age_reconciled"};
+
+	// In-memory stand-in for the Redis hashes and sorted set the scripts work on
+	private final Map<String, Map<String, String>> hashes = new HashMap<>();
+
+	@Test
+	void movesAnUpdatedStudentAndDropsEmptyCounters() {
+		apply(1000, "1", "", "15|10A", "2", "", "15|10B");
+		apply(1000, "3", "15|10A", "16|10B");
+
+		assertEquals(Map.of("10B", "2"), hash("class"));
+		assertEquals(Map.of("15", "1", "16", "1"), hash("age"));
+	}
+
+	@Test
+	void removesADeletedStudent() {
+		apply(1000, "1", "", "15|10A", "2", "", "15|10A");
+		apply(1000, "3", "15|10A", "");
+
+		assertEquals(Map.of("10A", "1"), hash("class"));
+		assertEquals(Map.of("15", "1"), hash("age"));
+	}
+
+	@Test
+	void skipsAnEventDeliveredAgain() {
+		apply(1000, "1", "", "15|10A", "2", "15|10A", "16|10B");
+		apply(1000, "1", "", "15|10A", "2", "15|10A", "16|10B");
+
+		assertEquals(Map.of("10B", "1"), hash("class"));
+		assertEquals(Map.of("16", "1"), hash("age"));
+	}
+
+	@Test
+	void appliesEveryChangeThatWasNotRelayedFromTheOutbox() {
+		apply(1000, "", "", "15|10A");
+		apply(1000, "", "", "15|10A");
+
+		assertEquals(Map.of("10A", "2"), hash("class"));
+		assertEquals(Map.of(), hash("applied"));
+	}
+
+	@Test
+	void forgetsAppliedEventsAfterTheRetention() {
+		apply(1000, "1", "", "15|10A");
+		apply(5000, "2", "", "15|10A");
+
+		assertEquals(Map.of("2", "5000"), hash("applied"));
+	}
+
+	@Test
+	void swapReplacesTheCountersAndClearsThoseWithoutReplacement() {
+		apply(1000, "1", "", "15|10A", "2", "", "17|12C");
+		hashes.put("class_reconciled", new HashMap<>(Map.of("10A", "3")));
+
+		run(StudentStatsService.SWAP_SCRIPT, SWAP_KEYS);
+
+		assertEquals(Map.of("10A", "3"), hash("class"));
+		assertEquals(Map.of(), hash("age"));
+		assertEquals(Map.of(), hash("class_reconciled"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void reconcileSumsTheGroupedCountsPerClassAndPerAge() {
+		RedissonClient redissonClient = mock(RedissonClient.class);
+		RLock lock = mock(RLock.class);
+		when(lock.tryLock()).thenReturn(true);
+		when(redissonClient.getLock(anyString())).thenReturn(lock);
+		Map<String, RMap<String, String>> maps = new HashMap<>();
+		when(redissonClient.<String, String>getMap(anyString(), eq(StringCodec.INSTANCE)))
+				.thenAnswer((invocation) -> maps.computeIfAbsent(invocation.getArgument(0), (key) -> mock(RMap.class)));
+		RScript script = mock(RScript.class);
+		when(redissonClient.getScript(StringCodec.INSTANCE)).thenReturn(script);
+		StudentRepository repository = mock(StudentRepository.class);
+		when(repository.countByStudentClassAndAge()).thenReturn(List.of(
+				new Object[] {"10A", 15, 2L}, new Object[] {"10A", 16, 1L}, new Object[] {"10B", 15, 4L}));
+		StudentStatsService service = new StudentStatsService();
+		ReflectionTestUtils.setField(service, "redissonClient", redissonClient);
+		ReflectionTestUtils.setField(service, "studentRepository", repository);
+
+		service.reconcile();
+
+		verify(maps.get("student_stats_class_reconciled_{student_stats}")).putAll(Map.of("10A", "3", "10B", "4"));
+		verify(maps.get("student_stats_age_reconciled_{student_stats}")).putAll(Map.of("15", "6", "16", "1"));
+		verify(script).eval(anyString(), eq(RScript.Mode.READ_WRITE), eq(StudentStatsService.SWAP_SCRIPT), any(RScript.ReturnType.class),
+				anyList(), any(Object[].class));
+		verify(lock).unlock();
+	}
+
+	// Applies (event ID, previous state, current state) triples at the given time, with a retention of 2000
+	private void apply(long now, String... changes) {
+		String[] args = new String[changes.length + 2];
+		args[0] = String.valueOf(now);
+		args[1] = String.valueOf(now - 2000);
+		System.arraycopy(changes, 0, args, 2, changes.length);
+		run(StudentStatsService.APPLY_SCRIPT, APPLY_KEYS, args);
+	}
+
+	private Map<String, String> hash(String key) {
+		return hashes.getOrDefault(key, Map.of());
+	}
+
+	private void run(String script, String[] keys, String... args) {
+		Globals globals = JsePlatform.standardGlobals();
+		LuaTable redis = new LuaTable();
+		redis.set("call", new VarArgFunction() {
+			@Override
+			public Varargs invoke(Varargs call) {
+				return execute(call);
+			}
+		});
+		globals.set("redis", redis);
+		globals.set("KEYS", toTable(keys));
+		globals.set("ARGV", toTable(args));
+		globals.load(script).call();
+	}
+
+	private LuaValue execute(Varargs call) {
+		String command = call.checkjstring(1);
+		String key = call.checkjstring(2);
+		switch (command) {
+			case "DEL":
+				hashes.remove(key);
+				return LuaValue.ONE;
+			case "EXISTS":
+				return hashes.containsKey(key) ? LuaValue.ONE : LuaValue.ZERO;
+			case "RENAME":
+				hashes.put(call.checkjstring(3), hashes.remove(key));
+				return LuaValue.valueOf("OK");
+			case "ZSCORE": {
+				String score = hash(key).get(call.checkjstring(3));
+				// Redis hands a missing value to Lua as false
+				return score == null ? LuaValue.FALSE : LuaValue.valueOf(score);
+			}
+			case "ZADD":
+				hashes.computeIfAbsent(key, (k) -> new HashMap<>()).put(call.checkjstring(4), call.checkjstring(3));
+				return LuaValue.ONE;
+			case "ZREMRANGEBYSCORE": {
+				// Only the "-inf" to "(max" form used by the script
+				long max = Long.parseLong(call.checkjstring(4).substring(1));
+				if (hashes.containsKey(key)) {
+					hashes.get(key).values().removeIf((score) -> Long.parseLong(score) < max);
+					if (hashes.get(key).isEmpty()) {
+						hashes.remove(key);
+					}
+				}
+				return LuaValue.ZERO;
+			}
+			case "HDEL":
+				if (hashes.containsKey(key)) {
+					hashes.get(key).remove(call.checkjstring(3));
+					if (hashes.get(key).isEmpty()) {
+						hashes.remove(key);
+					}
+				}
+				return LuaValue.ONE;
+			case "HINCRBY": {
+				Map<String, String> hash = hashes.computeIfAbsent(key, (k) -> new HashMap<>());
+				long value = Long.parseLong(hash.getOrDefault(call.checkjstring(3), "0")) + call.checklong(4);
+				hash.put(call.checkjstring(3), String.valueOf(value));
+				return LuaValue.valueOf(value);
+			}
+			default:
+				throw new IllegalArgumentException("Unexpected command " + command);
+		}
+	}
+
+	private static LuaTable toTable(String[] values) {
+		LuaTable table = new LuaTable();
+		for (int i = 0; i < values.length; i++) {
+			table.set(i + 1, LuaValue.valueOf(values[i]));
+		}
+		return table;
+	}
+}
@@ -0,0 +1,165 @@
+package com.synchrony.assignment.studentmanagement.service;
+
+import com.synchrony.assignment.studentmanagement.dto.response.StudentDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentWriteBehindServiceTest {
+
+	// In-memory stand-in for the Redis hash of pending updates
+	private final Map<Long, StudentDto> hash = new LinkedHashMap<>();
+
+	// Copies of the batches written, as the service reuses its batch list
+	private final List<List<StudentDto>> written = new ArrayList<>();
+
+	private StudentService studentService;
+	private RLock flushLock;
+	private StudentWriteBehindService service;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		RMap<Long, StudentDto> pending = mock(RMap.class);
+		when(pending.size()).thenAnswer((invocation) -> hash.size());
+		when(pending.readAllMap()).thenAnswer((invocation) -> new LinkedHashMap<>(hash));
+		when(pending.fastPutIfAbsent(anyLong(), any())).thenAnswer((invocation) ->
+				hash.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+		when(pending.replace(anyLong(), any(), any())).thenAnswer((invocation) ->
+				hash.replace(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+		RMapAsync<Object, Object> pendingAsync = mock(RMapAsync.class);
+		when(pendingAsync.removeAsync(any(), any())).thenAnswer((invocation) -> {
+			hash.remove(invocation.<Long>getArgument(0), invocation.getArgument(1));
+			return null;
+		});
+		RBatch batch = mock(RBatch.class);
+		when(batch.getMap("student_write_behind")).thenReturn(pendingAsync);
+		RedissonClient redissonClient = mock(RedissonClient.class);
+		when(redissonClient.createBatch(any(BatchOptions.class))).thenReturn(batch);
+		flushLock = mock(RLock.class);
+		when(flushLock.tryLock()).thenReturn(true);
+		studentService = mock(StudentService.class);
+		doAnswer((invocation) -> {
+			written.add(new ArrayList<>(invocation.<List<StudentDto>>getArgument(0)));
+			return written.get(written.size() - 1).size();
+		}).when(studentService).updateStudents(anyList());
+
+		service = new StudentWriteBehindService();
+		ReflectionTestUtils.setField(service, "redissonClient", redissonClient);
+		ReflectionTestUtils.setField(service, "studentService", studentService);
+		ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(service, "enabled", true);
+		ReflectionTestUtils.setField(service, "batchSize", 2);
+		ReflectionTestUtils.setField(service, "maxPending", 3);
+		ReflectionTestUtils.setField(service, "pending", pending);
+		ReflectionTestUtils.setField(service, "flushLock", flushLock);
+	}
+
+	@Test
+	void coalescesUpdatesOfTheSameStudentIntoTheLatest() {
+		StudentDto first = student(1L, "Ada", 1L);
+		StudentDto second = student(1L, "Ada Lovelace", 2L);
+
+		assertEquals(StudentWriteBehindService.EnqueueResult.QUEUED, service.enqueue(null, first));
+		assertEquals(StudentWriteBehindService.EnqueueResult.QUEUED, service.enqueue(first, second));
+		// Based on the pending update that was just replaced
+		assertEquals(StudentWriteBehindService.EnqueueResult.STALE, service.enqueue(first, student(1L, "Ada King", 2L)));
+
+		assertEquals(1, service.flush());
+		assertEquals(List.of(List.of(second)), written);
+	}
+
+	@Test
+	void flushesInBatchesAndEmptiesTheQueue() {
+		service.enqueue(null, student(1L, "Ada", 1L));
+		service.enqueue(null, student(2L, "Grace", 1L));
+		service.enqueue(null, student(3L, "Linus", 1L));
+
+		assertEquals(3, service.flush());
+
+		assertEquals(List.of(List.of(1L, 2L), List.of(3L)), written.stream()
+				.map((batch) -> batch.stream().map(StudentDto::getId).collect(Collectors.toList()))
+				.collect(Collectors.toList()));
+		assertEquals(Map.of(), hash);
+		verify(flushLock).unlock();
+	}
+
+	@Test
+	void keepsAnUpdateQueuedWhileItsPredecessorWasWritten() {
+		StudentDto flushed = student(1L, "Ada", 1L);
+		StudentDto newer = student(1L, "Ada Lovelace", 2L);
+		service.enqueue(null, flushed);
+		doAnswer((invocation) -> {
+			// A request replaces the pending update while the batch is written
+			service.enqueue(flushed, newer);
+			return 1;
+		}).when(studentService).updateStudents(anyList());
+
+		service.flush();
+
+		assertSame(newer, hash.get(1L));
+	}
+
+	@Test
+	void keepsTheQueueWhenTheBatchCannotBeWritten() {
+		service.enqueue(null, student(1L, "Ada", 1L));
+		when(studentService.updateStudents(anyList())).thenThrow(new IllegalStateException("database unavailable"));
+
+		assertThrows(IllegalStateException.class, () -> service.flush());
+
+		assertEquals(1, hash.size());
+		verify(flushLock).unlock();
+	}
+
+	@Test
+	void rejectsNewStudentsOnceTheQueueIsFull() {
+		service.enqueue(null, student(1L, "Ada", 1L));
+		service.enqueue(null, student(2L, "Grace", 1L));
+		service.enqueue(null, student(3L, "Linus", 1L));
+
+		assertEquals(StudentWriteBehindService.EnqueueResult.REJECTED, service.enqueue(null, student(4L, "Barbara", 1L)));
+	}
+
+	@Test
+	void leavesTheFlushToTheNodeHoldingTheLock() {
+		service.enqueue(null, student(1L, "Ada", 1L));
+		when(flushLock.tryLock()).thenReturn(false);
+
+		assertEquals(0, service.flush());
+
+		verify(studentService, never()).updateStudents(anyList());
+	}
+
+	private static StudentDto student(Long id, String name, Long version) {
+		StudentDto student = new StudentDto();
+		student.setId(id);
+		student.setName(name);
+		student.setVersion(version);
+		return student;
+	}
+}